@@ -0,0 +1,77 @@
+package com.iwellness.reviews.simulation;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.extension.responsetemplating.ResponseTemplateTransformer;
+
+/**
+ * Sustitutos locales (WireMock) de admin-users-service y providers-service para las pruebas de carga,
+ * con latencia configurable (distribución log-normal alrededor de la mediana indicada).
+ *
+ * mvn -P load-tests test-compile exec:java -Dstub.users.latency-ms=80 -Dstub.servicio.latency-ms=40
+ *
+ * Parámetros (-D): stub.users.port (8082), stub.servicio.port (8080), stub.users.latency-ms (50),
+ * stub.servicio.latency-ms (50), stub.latency-sigma (0.3), stub.users.bulk (true: endpoint
+ * masivo disponible; false: responde 404 y el servicio usa consultas individuales).
+ */
+public final class DownstreamStubs {
+
+    private DownstreamStubs() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int usersLatency = Integer.getInteger("stub.users.latency-ms", 50);
+        int servicioLatency = Integer.getInteger("stub.servicio.latency-ms", 50);
+        double sigma = Double.parseDouble(System.getProperty("stub.latency-sigma", "0.3"));
+        boolean usersBulk = Boolean.parseBoolean(System.getProperty("stub.users.bulk", "true"));
+
+        WireMockServer users = server(Integer.getInteger("stub.users.port", 8082));
+        users.stubFor(get(urlPathMatching("/usuarios/perfil-publico/[0-9]+"))
+                .willReturn(json("""
+                        {"id": {{request.pathSegments.[2]}}, "nombre": "Usuario {{request.pathSegments.[2]}}",
+                         "apellido": "Carga", "foto": null}""", usersLatency, sigma)));
+        users.stubFor(post(urlPathEqualTo("/usuarios/perfil-publico/batch"))
+                .willReturn(usersBulk
+                        ? json("""
+                                [{{#each (parseJson request.body) as |id|}}{"id": {{id}}, "nombre": "Usuario {{id}}",
+                                 "apellido": "Carga", "foto": null}{{#unless @last}},{{/unless}}{{/each}}]""",
+                                usersLatency, sigma)
+                        : aResponse().withStatus(404)));
+
+        WireMockServer servicio = server(Integer.getInteger("stub.servicio.port", 8080));
+        servicio.stubFor(get(urlPathMatching("/api/servicio/search/[0-9]+"))
+                .willReturn(json("""
+                        {"idServicio": {{request.pathSegments.[3]}}, "idProveedor": 1,
+                         "nombre": "Servicio {{request.pathSegments.[3]}}", "estado": true}""", servicioLatency, sigma)));
+
+        users.start();
+        servicio.start();
+        System.out.printf("Stubs listos: admin-users en :%d (%d ms), providers en :%d (%d ms)%n",
+                users.port(), usersLatency, servicio.port(), servicioLatency);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            users.stop();
+            servicio.stop();
+        }));
+        Thread.currentThread().join();
+    }
+
+    private static WireMockServer server(int port) {
+        return new WireMockServer(options()
+                .port(port)
+                .containerThreads(200)
+                .extensions(new ResponseTemplateTransformer(false))
+                .disableRequestJournal());
+    }
+
+    private static ResponseDefinitionBuilder json(String body, int medianLatencyMillis, double sigma) {
+        ResponseDefinitionBuilder response = aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "application/json")
+                .withBody(body)
+                .withTransformers("response-template");
+        return medianLatencyMillis > 0 ? response.withLogNormalRandomDelay(medianLatencyMillis, sigma) : response;
+    }
+}
@@ -0,0 +1,95 @@
+package com.iwellness.reviews.simulation;
+
+import static io.gatling.javaapi.core.CoreDsl.*;
+import static io.gatling.javaapi.http.HttpDsl.*;
+
+import io.gatling.javaapi.core.ChainBuilder;
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Simulation;
+import io.gatling.javaapi.http.HttpProtocolBuilder;
+
+/**
+ * Carga mixta de lectura/escritura contra ReviewController con popularidad Zipf.
+ *
+ * Parámetros (-D): baseUrl, readUsersPerSec, writeUsersPerSec, rampSeconds, durationSeconds,
+ * entities, zipfExponent, firstUserId. El informe HTML de Gatling muestra throughput y
+ * percentiles p50/p75/p95/p99 por petición (list, rating, recent, create, update, delete).
+ */
+public class ReviewApiSimulation extends Simulation {
+
+    private static final String BASE_URL = System.getProperty("baseUrl", "http://localhost:8084");
+    private static final double READ_USERS_PER_SEC = Double.parseDouble(System.getProperty("readUsersPerSec", "50"));
+    private static final double WRITE_USERS_PER_SEC = Double.parseDouble(System.getProperty("writeUsersPerSec", "5"));
+    private static final int RAMP_SECONDS = Integer.getInteger("rampSeconds", 30);
+    private static final int DURATION_SECONDS = Integer.getInteger("durationSeconds", 120);
+    private static final int ENTITIES = Integer.getInteger("entities", 1000);
+    private static final double ZIPF_EXPONENT = Double.parseDouble(System.getProperty("zipfExponent", "1.1"));
+    private static final long FIRST_USER_ID = Long.getLong("firstUserId", System.currentTimeMillis() % 1_000_000_000L * 1000);
+
+    private static final String REVIEW_BODY =
+            "{\"entityType\":\"#{entityType}\",\"entityId\":#{entityId},\"rating\":#{rating},"
+            + "\"comment\":\"Reseña generada por la prueba de carga\"}";
+
+    private final HttpProtocolBuilder httpProtocol = http
+            .baseUrl(BASE_URL)
+            .acceptHeader("application/json")
+            .contentTypeHeader("application/json")
+            .shareConnections();
+
+    private final ZipfFeeder feeder = new ZipfFeeder(ENTITIES, ZIPF_EXPONENT, FIRST_USER_ID);
+
+    private final ChainBuilder list = exec(http("list")
+            .get("/api/reviews/entity/#{entityType}/#{entityId}")
+            .queryParam("page", 0)
+            .queryParam("size", 10)
+            .check(status().is(200)));
+
+    private final ChainBuilder rating = exec(http("rating")
+            .get("/api/reviews/entity/#{entityType}/#{entityId}/rating")
+            .check(status().is(200)));
+
+    private final ChainBuilder recent = exec(http("recent")
+            .get("/api/reviews/entity/#{entityType}/#{entityId}/recent")
+            .queryParam("limit", 5)
+            .check(status().is(200)));
+
+    private final ScenarioBuilder readers = scenario("Lecturas")
+            .feed(feeder)
+            .randomSwitch().on(
+                    percent(50.0).then(list),
+                    percent(35.0).then(rating),
+                    percent(15.0).then(recent));
+
+    private final ScenarioBuilder writers = scenario("Escrituras")
+            .feed(feeder)
+            .exec(http("create")
+                    .post("/api/reviews")
+                    .header("X-User-Id", "#{userId}")
+                    .body(StringBody(REVIEW_BODY))
+                    .check(status().is(201), jsonPath("$.id").saveAs("reviewId")))
+            .exitHereIfFailed()
+            .pause(1)
+            .exec(session -> session.set("rating", 1 + (session.getInt("rating") % 5)))
+            .exec(http("update")
+                    .put("/api/reviews/#{reviewId}")
+                    .header("X-User-Id", "#{userId}")
+                    .body(StringBody(REVIEW_BODY))
+                    .check(status().is(200)))
+            .randomSwitch().on(
+                    percent(30.0).then(exec(http("delete")
+                            .delete("/api/reviews/#{reviewId}")
+                            .header("X-User-Id", "#{userId}")
+                            .check(status().is(204)))));
+
+    {
+        setUp(
+                readers.injectOpen(
+                        rampUsersPerSec(1).to(READ_USERS_PER_SEC).during(RAMP_SECONDS),
+                        constantUsersPerSec(READ_USERS_PER_SEC).during(DURATION_SECONDS)),
+                writers.injectOpen(
+                        rampUsersPerSec(1).to(WRITE_USERS_PER_SEC).during(RAMP_SECONDS),
+                        constantUsersPerSec(WRITE_USERS_PER_SEC).during(DURATION_SECONDS)))
+                .protocols(httpProtocol)
+                .assertions(global().failedRequests().percent().lt(1.0));
+    }
+}
@@ -0,0 +1,60 @@
+package com.iwellness.reviews.simulation;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Feeder infinito con la popularidad de las entidades sesgada según una ley de Zipf:
+ * la entidad de rango k recibe tráfico proporcional a 1/k^s, como ocurre con unos pocos
+ * servicios muy populares y una cola larga de servicios poco visitados.
+ *
+ * Cada registro trae entityType, entityId, un userId nuevo (para que las creaciones no
+ * choquen con la restricción de una reseña por usuario) y un rating entre 1 y 5.
+ */
+public class ZipfFeeder implements Iterator<Map<String, Object>> {
+
+    private final double[] cumulative;
+    private final AtomicLong nextUserId;
+
+    public ZipfFeeder(int entities, double exponent, long firstUserId) {
+        this.cumulative = new double[entities];
+        double total = 0;
+        for (int rank = 1; rank <= entities; rank++) {
+            total += 1.0 / Math.pow(rank, exponent);
+            cumulative[rank - 1] = total;
+        }
+        for (int i = 0; i < entities; i++) {
+            cumulative[i] /= total;
+        }
+        this.nextUserId = new AtomicLong(firstUserId);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return true;
+    }
+
+    @Override
+    public Map<String, Object> next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return Map.of(
+                "entityType", "SERVICE",
+                "entityId", sampleRank(random.nextDouble()),
+                "userId", nextUserId.getAndIncrement(),
+                "rating", random.nextInt(1, 6));
+    }
+
+    /**
+     * Rango 1..n cuya probabilidad acumulada cubre el valor uniforme dado
+     */
+    long sampleRank(double uniform) {
+        int index = Arrays.binarySearch(cumulative, uniform);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return Math.min(index, cumulative.length - 1) + 1L;
+    }
+}
@@ -0,0 +1,103 @@
+package com.iwellness.reviews.benchmark;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.iwellness.reviews.ReviewsApiApplication;
+import com.iwellness.reviews.client.UserApiClient;
+import com.iwellness.reviews.dto.UsuarioDTO;
+
+/**
+ * Arranca la aplicación sobre H2 (modo PostgreSQL, sin servidor web) con un
+ * UserApiClient simulado, para medir los caminos de lectura sin red. Con
+ * usersAvailable=false el stub no devuelve perfiles: los autores sin copia local
+ * siguen sin ella en cada lectura
+ */
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(boolean usersAvailable) {
+        return new SpringApplicationBuilder(ReviewsApiApplication.class, StubbedClients.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+                        "spring.flyway.enabled=false",
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "spring.rabbitmq.listener.simple.auto-startup=false",
+                        "app.reviews.outbox.poll-interval-ms=3600000",
+                        "app.reviews.events.rating-changed.window-ms=3600000",
+                        "benchmark.users.available=" + usersAvailable,
+                        "logging.level.root=WARN",
+                        "logging.level.com.iwellness.reviews=WARN",
+                        "logging.level.org.springframework.web=WARN",
+                        "logging.level.org.springframework.amqp=WARN")
+                .run();
+    }
+
+    @Configuration
+    static class StubbedClients {
+
+        /**
+         * Sustituye la definición del cliente Feign (que se registra como primary) por el stub
+         */
+        @Bean
+        static BeanDefinitionRegistryPostProcessor stubUserApiClient() {
+            return new BeanDefinitionRegistryPostProcessor() {
+                @Override
+                public void postProcessBeanDefinitionRegistry(BeanDefinitionRegistry registry) {
+                    String name = UserApiClient.class.getName();
+                    registry.removeBeanDefinition(name);
+                    registry.registerBeanDefinition(name, BeanDefinitionBuilder
+                            .genericBeanDefinition(StubUserApiClient.class)
+                            .getBeanDefinition());
+                }
+
+                @Override
+                public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+                }
+            };
+        }
+    }
+
+    static class StubUserApiClient implements UserApiClient {
+
+        private final boolean available;
+
+        StubUserApiClient(@Value("${benchmark.users.available:true}") boolean available) {
+            this.available = available;
+        }
+
+        @Override
+        public UsuarioDTO findById(Long id) {
+            return available ? user(id) : null;
+        }
+
+        @Override
+        public List<UsuarioDTO> findByIds(List<Long> ids) {
+            return available ? ids.stream().map(BenchmarkApplication::user).toList() : List.of();
+        }
+    }
+
+    static UsuarioDTO user(Long id) {
+        UsuarioDTO user = new UsuarioDTO();
+        user.setId(id);
+        user.setNombre("Usuario " + id);
+        user.setApellido("Benchmark");
+        user.setFoto("https://cdn.example.com/u/" + id + ".jpg");
+        return user;
+    }
+}
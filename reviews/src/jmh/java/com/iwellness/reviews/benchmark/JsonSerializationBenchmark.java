@@ -0,0 +1,90 @@
+package com.iwellness.reviews.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.iwellness.reviews.dto.RatingDTO;
+import com.iwellness.reviews.dto.ReviewResponseDTO;
+
+/**
+ * Serialización JSON de las respuestas más frecuentes, con el ObjectMapper que
+ * construye Spring para los controladores
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ObjectWriter writer;
+    private Page<ReviewResponseDTO> page;
+    private RatingDTO rating;
+
+    @Setup
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json().build().writer();
+
+        List<ReviewResponseDTO> content = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (long i = 1; i <= pageSize; i++) {
+            content.add(ReviewResponseDTO.builder()
+                    .id(i)
+                    .entityId(1L)
+                    .entityType("SERVICE")
+                    .userId(i)
+                    .nombre("Usuario " + i + " Benchmark")
+                    .foto("https://cdn.example.com/u/" + i + ".jpg")
+                    .rating((int) (i % 5) + 1)
+                    .comment("Comentario de prueba número " + i + " para el benchmark de serialización")
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+        }
+        page = new PageImpl<>(content, PageRequest.of(0, pageSize), 5000);
+
+        rating = RatingDTO.builder()
+                .entityId(1L)
+                .entityType("SERVICE")
+                .averageRating(4.23)
+                .totalReviews(5000L)
+                .distribution(RatingDTO.RatingDistribution.builder()
+                        .fiveStars(2500L).fourStars(1500L).threeStars(600L).twoStars(250L).oneStar(150L)
+                        .build())
+                .build();
+    }
+
+    @Benchmark
+    public byte[] serializeReviewPage() throws JsonProcessingException {
+        return writer.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] serializeRating() throws JsonProcessingException {
+        return writer.writeValueAsBytes(rating);
+    }
+}
@@ -0,0 +1,108 @@
+package com.iwellness.reviews.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.iwellness.reviews.dto.RatingDTO;
+import com.iwellness.reviews.entity.Review;
+import com.iwellness.reviews.model.RatingDelta;
+
+/**
+ * Agregación de calificaciones sobre conjuntos de reseñas en memoria: cálculo completo
+ * con streams frente al acumulado con RatingDelta que usa entity_rating_summary, y el
+ * coste de aplicar un único cambio incremental
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RatingAggregationBenchmark {
+
+    @Param({"100", "10000"})
+    public int reviewCount;
+
+    private List<Review> reviews;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        reviews = new ArrayList<>(reviewCount);
+        for (long i = 1; i <= reviewCount; i++) {
+            reviews.add(Review.builder()
+                    .id(i)
+                    .entityType("SERVICE")
+                    .entityId(1L)
+                    .userId(i)
+                    .rating(random.nextInt(1, 6))
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public RatingDTO aggregateWithStreams() {
+        double average = reviews.stream().mapToInt(Review::getRating).average().orElse(0.0);
+        Map<Integer, Long> byRating = reviews.stream()
+                .collect(Collectors.groupingBy(Review::getRating, Collectors.counting()));
+        return RatingDTO.builder()
+                .entityId(1L)
+                .entityType("SERVICE")
+                .averageRating(average)
+                .totalReviews((long) reviews.size())
+                .distribution(RatingDTO.RatingDistribution.builder()
+                        .fiveStars(byRating.getOrDefault(5, 0L))
+                        .fourStars(byRating.getOrDefault(4, 0L))
+                        .threeStars(byRating.getOrDefault(3, 0L))
+                        .twoStars(byRating.getOrDefault(2, 0L))
+                        .oneStar(byRating.getOrDefault(1, 0L))
+                        .build())
+                .build();
+    }
+
+    @Benchmark
+    public RatingDTO aggregateWithRatingDelta() {
+        RatingDelta totals = new RatingDelta();
+        for (Review review : reviews) {
+            totals.add(review.getRating());
+        }
+        return toRating(totals);
+    }
+
+    @Benchmark
+    public RatingDelta incrementalChange() {
+        return RatingDelta.changed(3, 5);
+    }
+
+    private static RatingDTO toRating(RatingDelta totals) {
+        return RatingDTO.builder()
+                .entityId(1L)
+                .entityType("SERVICE")
+                .averageRating(totals.getCount() > 0 ? (double) totals.getSum() / totals.getCount() : 0.0)
+                .totalReviews(totals.getCount())
+                .distribution(RatingDTO.RatingDistribution.builder()
+                        .fiveStars(totals.getFiveStars())
+                        .fourStars(totals.getFourStars())
+                        .threeStars(totals.getThreeStars())
+                        .twoStars(totals.getTwoStars())
+                        .oneStar(totals.getOneStar())
+                        .build())
+                .build();
+    }
+}
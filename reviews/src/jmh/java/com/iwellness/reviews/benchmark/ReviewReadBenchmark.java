@@ -0,0 +1,98 @@
+package com.iwellness.reviews.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+
+import com.iwellness.reviews.dto.ReviewResponseDTO;
+import com.iwellness.reviews.entity.Review;
+import com.iwellness.reviews.model.EntityType;
+import com.iwellness.reviews.repository.ReviewRepository;
+import com.iwellness.reviews.service.ReviewAuthorService;
+import com.iwellness.reviews.service.ReviewService;
+
+/**
+ * Lecturas de reseñas de extremo a extremo desde el servicio: consulta JPA sobre H2,
+ * resolución de autores y mapToResponseDTO. authors=stored lee las copias de review_authors;
+ * authors=missing mide a los autores aún sin copia (servicio de usuarios sin respuesta),
+ * que pasan por la caché de perfiles y programan la copia en segundo plano en cada lectura
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReviewReadBenchmark {
+
+    private static final String ENTITY_TYPE = EntityType.SERVICE.toString();
+    private static final long ENTITY_ID = 1L;
+
+    @Param({"stored", "missing"})
+    public String authors;
+
+    @Param({"20"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private ReviewService reviewService;
+    private Long reviewId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean stored = "stored".equals(authors);
+        context = BenchmarkApplication.start(stored);
+        reviewService = context.getBean(ReviewService.class);
+
+        List<Review> reviews = new ArrayList<>();
+        for (long userId = 1; userId <= 500; userId++) {
+            reviews.add(Review.builder()
+                    .entityType(ENTITY_TYPE)
+                    .entityId(ENTITY_ID)
+                    .userId(userId)
+                    .rating((int) (userId % 5) + 1)
+                    .comment("Comentario de prueba número " + userId + " para el benchmark de lectura")
+                    .build());
+        }
+        reviewId = context.getBean(ReviewRepository.class).saveAll(reviews).get(0).getId();
+        if (stored) {
+            context.getBean(ReviewAuthorService.class).snapshotMissing(reviews.stream().map(Review::getUserId).toList());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ReviewResponseDTO getReviewById() {
+        return reviewService.getReviewById(reviewId);
+    }
+
+    @Benchmark
+    public Page<ReviewResponseDTO> getReviewsByEntity() {
+        return reviewService.getReviewsByEntity(ENTITY_ID, ENTITY_TYPE, 0, pageSize, "createdAt");
+    }
+
+    @Benchmark
+    public List<ReviewResponseDTO> getRecentReviewsByEntity() {
+        return reviewService.getRecentReviewsByEntity(ENTITY_ID, ENTITY_TYPE, pageSize);
+    }
+}
@@ -0,0 +1,144 @@
+package com.iwellness.reviews.client;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import com.iwellness.reviews.config.RequestContextTaskDecorator;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Límite acotado y exclusivo para las llamadas en paralelo a un microservicio externo.
+ * Si el servicio se degrada solo se satura su bulkhead: las tareas que no caben en la
+ * cola se rechazan de inmediato en lugar de bloquear los hilos de las peticiones.
+ *
+ * Con hilos de plataforma es un pool fijo de max-concurrent hilos. Con hilos virtuales cada
+ * llamada tiene su propio hilo virtual (no se reutilizan) y un Semaphore limita cuántas están
+ * en curso; las que esperan permiso cuentan como cola.
+ *
+ * Métricas: executor.active, executor.queued, ... (tag name=downstream.{nombre})
+ * y downstream.bulkhead.rejected.
+ */
+@Slf4j
+public class DownstreamBulkhead {
+
+    private final String name;
+    private final RequestContextTaskDecorator taskDecorator = new RequestContextTaskDecorator();
+    private final Counter rejections;
+
+    // Hilos de plataforma
+    private final ThreadPoolExecutor pool;
+
+    // Hilos virtuales: un hilo por llamada; running limita las llamadas en curso y admitted
+    // las que hay en el bulkhead (en curso + esperando permiso)
+    private final VirtualThreadTaskExecutor virtualExecutor;
+    private final Semaphore running;
+    private final Semaphore admitted;
+    private final int maxConcurrent;
+    private final int maxAdmitted;
+
+    public DownstreamBulkhead(String name, int maxConcurrent, int queueCapacity,
+                              boolean virtualThreads, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxAdmitted = maxConcurrent + queueCapacity;
+        this.rejections = Counter.builder("downstream.bulkhead.rejected")
+                .description("Llamadas rechazadas por tener el bulkhead lleno")
+                .tag("name", name)
+                .register(meterRegistry);
+        if (virtualThreads) {
+            this.pool = null;
+            this.virtualExecutor = new VirtualThreadTaskExecutor(name + "-lookup-");
+            this.running = new Semaphore(maxConcurrent);
+            this.admitted = new Semaphore(maxAdmitted);
+            Gauge.builder("executor.active", this, DownstreamBulkhead::active)
+                    .description("Llamadas en curso")
+                    .tag("name", "downstream." + name)
+                    .register(meterRegistry);
+            Gauge.builder("executor.queued", this, DownstreamBulkhead::queued)
+                    .description("Llamadas esperando permiso")
+                    .tag("name", "downstream." + name)
+                    .register(meterRegistry);
+        } else {
+            this.virtualExecutor = null;
+            this.running = null;
+            this.admitted = null;
+            this.pool = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 60, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory(name + "-lookup-"),
+                    new ThreadPoolExecutor.AbortPolicy());
+            this.pool.allowCoreThreadTimeOut(true);
+            new ExecutorServiceMetrics(pool, "downstream." + name, List.<Tag>of()).bindTo(meterRegistry);
+        }
+    }
+
+    /**
+     * Ejecuta la llamada en el bulkhead; si está lleno el futuro falla con
+     * RejectedExecutionException
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> call) {
+        try {
+            return CompletableFuture.supplyAsync(call, task -> execute(taskDecorator.decorate(task)));
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            log.warn("Bulkhead {} lleno ({} activas, {} en cola), llamada rechazada",
+                    name, active(), queued());
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    private void execute(Runnable task) {
+        if (pool != null) {
+            pool.execute(task);
+            return;
+        }
+        if (!admitted.tryAcquire()) {
+            throw new RejectedExecutionException("Bulkhead " + name + " lleno");
+        }
+        try {
+            virtualExecutor.execute(() -> {
+                try {
+                    // Esperar aquí solo aparca el hilo virtual
+                    running.acquireUninterruptibly();
+                    try {
+                        task.run();
+                    } finally {
+                        running.release();
+                    }
+                } finally {
+                    admitted.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            admitted.release();
+            throw e;
+        }
+    }
+
+    private int active() {
+        return pool != null ? pool.getActiveCount() : maxConcurrent - running.availablePermits();
+    }
+
+    private int queued() {
+        return pool != null ? pool.getQueue().size() : maxAdmitted - admitted.availablePermits() - active();
+    }
+}
@@ -0,0 +1,140 @@
+package com.iwellness.reviews.client;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Protege las llamadas a un microservicio externo con un circuit breaker y, si está
+ * activado, con peticiones "hedged": cuando la primera llamada tarda más que el p95
+ * reciente se lanza un segundo intento y se usa la primera respuesta válida.
+ *
+ * Con el circuito abierto las llamadas fallan de inmediato con CallNotPermittedException
+ * y los servicios aplican su degradación habitual (usuario anónimo, entidad no encontrada).
+ * Solo debe usarse con llamadas de lectura idempotentes.
+ */
+@Slf4j
+public class DownstreamGuard {
+
+    private static final double HEDGE_PERCENTILE = 0.95;
+
+    private final String name;
+    private final CircuitBreaker circuitBreaker;
+    private final Timer latency;
+    private final Counter hedges;
+    private final DownstreamBulkhead hedgingExecutor;
+    private final long minHedgeDelayMillis;
+    private final long maxHedgeDelayMillis;
+
+    /**
+     * @param hedgingExecutor pool para los intentos en paralelo; null desactiva el hedging
+     */
+    public DownstreamGuard(String name, CircuitBreaker circuitBreaker, MeterRegistry meterRegistry,
+                           DownstreamBulkhead hedgingExecutor, long minHedgeDelayMillis, long maxHedgeDelayMillis) {
+        this.name = name;
+        this.circuitBreaker = circuitBreaker;
+        this.hedgingExecutor = hedgingExecutor;
+        this.minHedgeDelayMillis = minHedgeDelayMillis;
+        this.maxHedgeDelayMillis = maxHedgeDelayMillis;
+        this.latency = Timer.builder("downstream.call")
+                .description("Duración de cada intento de llamada al microservicio")
+                .tag("name", name)
+                .publishPercentiles(HEDGE_PERCENTILE)
+                .register(meterRegistry);
+        this.hedges = Counter.builder("downstream.hedged")
+                .description("Segundos intentos lanzados por superar el p95")
+                .tag("name", name)
+                .register(meterRegistry);
+        circuitBreaker.getEventPublisher().onStateTransition(event ->
+                log.warn("Circuit breaker {}: {}", name, event.getStateTransition()));
+    }
+
+    public <T> T call(Supplier<T> call) {
+        return circuitBreaker.executeSupplier(() -> hedgingExecutor == null ? latency.record(call) : hedged(call));
+    }
+
+    private <T> T hedged(Supplier<T> call) {
+        CompletableFuture<T> primary = hedgingExecutor.submit(() -> latency.record(call));
+        if (rejected(primary)) {
+            // Sin hueco en el pool de hedging: llamada normal en el hilo actual
+            return latency.record(call);
+        }
+        try {
+            return primary.get(hedgeDelayMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            hedges.increment();
+            CompletableFuture<T> secondary = hedgingExecutor.submit(() -> latency.record(call));
+            return join(firstSuccessful(primary, secondary));
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while calling " + name, e);
+        }
+    }
+
+    public void shutdown() {
+        if (hedgingExecutor != null) {
+            hedgingExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Retraso antes del segundo intento: p95 reciente acotado a [min, max]
+     */
+    long hedgeDelayMillis() {
+        for (ValueAtPercentile percentile : latency.takeSnapshot().percentileValues()) {
+            if (percentile.percentile() == HEDGE_PERCENTILE && percentile.value() > 0) {
+                long p95 = (long) percentile.value(TimeUnit.MILLISECONDS);
+                return Math.min(maxHedgeDelayMillis, Math.max(minHedgeDelayMillis, p95));
+            }
+        }
+        return maxHedgeDelayMillis;
+    }
+
+    private static boolean rejected(CompletableFuture<?> attempt) {
+        return attempt.isCompletedExceptionally()
+                && attempt.handle((value, error) -> error instanceof RejectedExecutionException).join();
+    }
+
+    private static <T> CompletableFuture<T> firstSuccessful(CompletableFuture<T> first, CompletableFuture<T> second) {
+        CompletableFuture<T> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (CompletableFuture<T> attempt : List.of(first, second)) {
+            attempt.whenComplete((value, error) -> {
+                if (error == null) {
+                    winner.complete(value);
+                } else if (failures.incrementAndGet() == 2) {
+                    winner.completeExceptionally(error);
+                }
+            });
+        }
+        return winner;
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof RuntimeException runtime ? runtime : new IllegalStateException(cause);
+    }
+}
@@ -1,8 +1,12 @@
 package com.iwellness.reviews.client;
 
+import java.util.List;
+
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 
 import com.iwellness.reviews.config.FeignClientInterceptor;
 import com.iwellness.reviews.dto.UsuarioDTO;
@@ -15,4 +19,8 @@ public interface UserApiClient {
     // Este método llamará a GET http://localhost:8082/usuarios/{id}
     @GetMapping("/perfil-publico/{id}")
     UsuarioDTO findById(@PathVariable("id") Long id);
+
+    // Resuelve varios perfiles públicos en una sola llamada: POST http://localhost:8082/usuarios/perfil-publico/batch
+    @PostMapping("/perfil-publico/batch")
+    List<UsuarioDTO> findByIds(@RequestBody List<Long> ids);
 }
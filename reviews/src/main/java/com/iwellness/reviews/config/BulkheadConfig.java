@@ -0,0 +1,25 @@
+package com.iwellness.reviews.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.iwellness.reviews.client.DownstreamBulkhead;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Bulkheads para las consultas en paralelo a otros microservicios, uno por cliente
+ */
+@Configuration
+public class BulkheadConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public DownstreamBulkhead usersBulkhead(
+            MeterRegistry meterRegistry,
+            @Value("${app.reviews.bulkheads.users.max-concurrent:8}") int maxConcurrent,
+            @Value("${app.reviews.bulkheads.users.queue-capacity:64}") int queueCapacity,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        return new DownstreamBulkhead("users", maxConcurrent, queueCapacity, virtualThreads, meterRegistry);
+    }
+}
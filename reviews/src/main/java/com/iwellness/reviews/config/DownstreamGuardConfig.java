@@ -0,0 +1,57 @@
+package com.iwellness.reviews.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.iwellness.reviews.client.DownstreamBulkhead;
+import com.iwellness.reviews.client.DownstreamGuard;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Circuit breakers y hedging para los clientes Feign. Los umbrales de cada circuito se
+ * configuran en resilience4j.circuitbreaker.instances.{users,servicio}
+ */
+@Configuration
+public class DownstreamGuardConfig {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Bean(destroyMethod = "shutdown")
+    public DownstreamGuard usersGuard(
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            MeterRegistry meterRegistry,
+            @Value("${app.reviews.hedging.users.enabled:false}") boolean hedgingEnabled,
+            @Value("${app.reviews.hedging.users.max-concurrent:16}") int hedgingMaxConcurrent,
+            @Value("${app.reviews.hedging.users.min-delay-ms:50}") long minDelayMillis,
+            @Value("${app.reviews.hedging.users.max-delay-ms:1000}") long maxDelayMillis) {
+        return guard("users", circuitBreakerRegistry, meterRegistry,
+                hedgingEnabled, hedgingMaxConcurrent, minDelayMillis, maxDelayMillis);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public DownstreamGuard servicioGuard(
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            MeterRegistry meterRegistry,
+            @Value("${app.reviews.hedging.servicio.enabled:false}") boolean hedgingEnabled,
+            @Value("${app.reviews.hedging.servicio.max-concurrent:16}") int hedgingMaxConcurrent,
+            @Value("${app.reviews.hedging.servicio.min-delay-ms:50}") long minDelayMillis,
+            @Value("${app.reviews.hedging.servicio.max-delay-ms:1000}") long maxDelayMillis) {
+        return guard("servicio", circuitBreakerRegistry, meterRegistry,
+                hedgingEnabled, hedgingMaxConcurrent, minDelayMillis, maxDelayMillis);
+    }
+
+    private DownstreamGuard guard(String name, CircuitBreakerRegistry circuitBreakerRegistry, MeterRegistry meterRegistry,
+                                  boolean hedgingEnabled, int hedgingMaxConcurrent,
+                                  long minDelayMillis, long maxDelayMillis) {
+        DownstreamBulkhead hedgingExecutor = hedgingEnabled
+                ? new DownstreamBulkhead(name + "-hedging", hedgingMaxConcurrent, hedgingMaxConcurrent * 2,
+                        virtualThreads, meterRegistry)
+                : null;
+        return new DownstreamGuard(name, circuitBreakerRegistry.circuitBreaker(name), meterRegistry,
+                hedgingExecutor, minDelayMillis, maxDelayMillis);
+    }
+}
@@ -1,5 +1,9 @@
 package com.iwellness.reviews.config;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
@@ -19,17 +23,59 @@ public class FeignClientInterceptor implements RequestInterceptor {
 
     private static final String AUTHORIZATION_HEADER = "Authorization";
     private static final String USER_ID_HEADER = "X-User-Id";
+    private static final List<String> FORWARDED_HEADERS = List.of(AUTHORIZATION_HEADER, USER_ID_HEADER);
+
+    // Headers copiados por RequestContextTaskDecorator a los hilos de los bulkheads
+    private static final ThreadLocal<Map<String, String>> CAPTURED_HEADERS = new ThreadLocal<>();
+
+    /**
+     * Headers a propagar desde la petición actual, o null fuera de una petición HTTP.
+     * Se leen en el hilo de la petición: una tarea que termina después de la respuesta
+     * ya no puede consultar la petición, que el contenedor recicla.
+     */
+    public static Map<String, String> currentHeaders() {
+        Map<String, String> captured = CAPTURED_HEADERS.get();
+        if (captured != null) {
+            return captured;
+        }
+        ServletRequestAttributes attributes =
+            (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        Map<String, String> headers = new HashMap<>();
+        for (String name : FORWARDED_HEADERS) {
+            String value = request.getHeader(name);
+            if (value != null) {
+                headers.put(name, value);
+            }
+        }
+        return headers;
+    }
+
+    static Map<String, String> currentCapturedHeaders() {
+        return CAPTURED_HEADERS.get();
+    }
+
+    /**
+     * Asocia al hilo actual los headers capturados en otro hilo; null los retira
+     */
+    public static void setCapturedHeaders(Map<String, String> headers) {
+        if (headers != null) {
+            CAPTURED_HEADERS.set(headers);
+        } else {
+            CAPTURED_HEADERS.remove();
+        }
+    }
 
     @Override
     public void apply(RequestTemplate requestTemplate) {
-        ServletRequestAttributes attributes = 
-            (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+        Map<String, String> headers = currentHeaders();
         
-        if (attributes != null) {
-            HttpServletRequest request = attributes.getRequest();
-            
+        if (headers != null) {
             // Propagar el token JWT
-            String authorizationHeader = request.getHeader(AUTHORIZATION_HEADER);
+            String authorizationHeader = headers.get(AUTHORIZATION_HEADER);
             if (authorizationHeader != null) {
                 requestTemplate.header(AUTHORIZATION_HEADER, authorizationHeader);
                 log.debug("Propagating Authorization header to Feign client");
@@ -38,7 +84,7 @@ public class FeignClientInterceptor implements RequestInterceptor {
             }
             
             // Propagar el User ID (opcional, por si lo necesitas)
-            String userIdHeader = request.getHeader(USER_ID_HEADER);
+            String userIdHeader = headers.get(USER_ID_HEADER);
             if (userIdHeader != null) {
                 requestTemplate.header(USER_ID_HEADER, userIdHeader);
                 log.debug("Propagating X-User-Id header to Feign client");
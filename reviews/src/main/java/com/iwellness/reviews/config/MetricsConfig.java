@@ -0,0 +1,50 @@
+package com.iwellness.reviews.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.iwellness.reviews.metrics.DownstreamCallCounter;
+import com.iwellness.reviews.metrics.RequestMetricsFilter;
+import com.iwellness.reviews.metrics.SqlStatementCounter;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Instrumentación con Micrometer:
+ * - @Timed en los servicios y el publicador (reviews.service, tags class/method/exception)
+ * - Clientes Feign: feign-micrometer (http.client.requests, tags clientName/method/uri/status)
+ * - Repositorios: spring.data.repository.invocations (autoconfiguración de Spring Boot)
+ * - Publicación en RabbitMQ: reviews.outbox.publish y spring.rabbit.template
+ * - Por petición: sentencias SQL y llamadas externas (RequestMetricsFilter)
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestMetricsFilter> requestMetricsFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<RequestMetricsFilter> registration =
+                new FilterRegistrationBean<>(new RequestMetricsFilter(meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounter() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+
+    @Bean
+    public DownstreamCallCounter downstreamCallCounter() {
+        return new DownstreamCallCounter();
+    }
+}
@@ -1,14 +1,21 @@
 package com.iwellness.reviews.config;
 
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Base64UrlNamingStrategy;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarables;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JavaTypeMapper;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.RabbitTemplateConfigurer;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -30,6 +37,33 @@ public class RabbitMQConfig {
     @Value("${rabbitmq.routing-keys.rating-changed}")
     private String ratingChangedRoutingKey;
 
+    @Value("${rabbitmq.queues.entity-lifecycle-prefix}")
+    private String entityLifecycleQueuePrefix;
+
+    @Value("${rabbitmq.queues.entity-purge}")
+    private String entityPurgeQueueName;
+
+    @Value("${rabbitmq.routing-keys.servicio-deleted}")
+    private String servicioDeletedRoutingKey;
+
+    @Value("${rabbitmq.routing-keys.servicio-disabled}")
+    private String servicioDisabledRoutingKey;
+
+    @Value("${rabbitmq.routing-keys.provider-deleted}")
+    private String providerDeletedRoutingKey;
+
+    @Value("${rabbitmq.routing-keys.provider-disabled}")
+    private String providerDisabledRoutingKey;
+
+    @Value("${rabbitmq.queues.user-profile}")
+    private String userProfileQueueName;
+
+    @Value("${rabbitmq.queues.user-profile-evict-prefix}")
+    private String userProfileEvictQueuePrefix;
+
+    @Value("${rabbitmq.routing-keys.user-profile-updated}")
+    private String userProfileUpdatedRoutingKey;
+
     /**
      * Topic Exchange para eventos de reseñas
      */
@@ -102,19 +136,109 @@ public class RabbitMQConfig {
     }
 
     /**
-     * Message Converter para serialización JSON
+     * Queue para eventos de eliminación/desactivación de servicios y proveedores. Cada instancia
+     * tiene la suya (anónima, exclusiva y auto-delete) para que todas invaliden su caché local
+     */
+    @Bean
+    public Queue entityLifecycleQueue() {
+        return new AnonymousQueue(new Base64UrlNamingStrategy(entityLifecycleQueuePrefix));
+    }
+
+    @Bean
+    public Declarables entityLifecycleBindings(Queue entityLifecycleQueue, TopicExchange reviewExchange) {
+        return new Declarables(
+                BindingBuilder.bind(entityLifecycleQueue).to(reviewExchange).with(servicioDeletedRoutingKey),
+                BindingBuilder.bind(entityLifecycleQueue).to(reviewExchange).with(servicioDisabledRoutingKey),
+                BindingBuilder.bind(entityLifecycleQueue).to(reviewExchange).with(providerDeletedRoutingKey),
+                BindingBuilder.bind(entityLifecycleQueue).to(reviewExchange).with(providerDisabledRoutingKey));
+    }
+
+    /**
+     * Cola propia para el borrado de reseñas de entidades eliminadas: no comparte consumidor
+     * con las invalidaciones de caché
+     */
+    @Bean
+    public Queue entityPurgeQueue() {
+        return new Queue(entityPurgeQueueName, true);
+    }
+
+    @Bean
+    public Declarables entityPurgeBindings(Queue entityPurgeQueue, TopicExchange reviewExchange) {
+        return new Declarables(
+                BindingBuilder.bind(entityPurgeQueue).to(reviewExchange).with(servicioDeletedRoutingKey),
+                BindingBuilder.bind(entityPurgeQueue).to(reviewExchange).with(providerDeletedRoutingKey));
+    }
+
+    /**
+     * Queue para eventos de actualización de perfil de usuario (copia local de autores)
+     */
+    @Bean
+    public Queue userProfileQueue() {
+        return new Queue(userProfileQueueName, true);
+    }
+
+    @Bean
+    public Binding userProfileBinding(Queue userProfileQueue, TopicExchange reviewExchange) {
+        return BindingBuilder.bind(userProfileQueue)
+                .to(reviewExchange)
+                .with(userProfileUpdatedRoutingKey);
+    }
+
+    /**
+     * Queue propia de cada instancia (anónima, exclusiva y auto-delete) para los mismos eventos
+     * de perfil: todas retiran el perfil de su caché local, no solo la que refresca review_authors
+     */
+    @Bean
+    public Queue userProfileEvictQueue() {
+        return new AnonymousQueue(new Base64UrlNamingStrategy(userProfileEvictQueuePrefix));
+    }
+
+    @Bean
+    public Binding userProfileEvictBinding(Queue userProfileEvictQueue, TopicExchange reviewExchange) {
+        return BindingBuilder.bind(userProfileEvictQueue)
+                .to(reviewExchange)
+                .with(userProfileUpdatedRoutingKey);
+    }
+
+    /**
+     * Contenedor por lotes para los eventos de perfil: entrega hasta batch-size mensajes
+     * (o los recibidos en receive-timeout-ms) en una sola llamada al listener
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory userProfileBatchListenerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            @Value("${app.reviews.authors.refresh.batch-size:100}") int batchSize,
+            @Value("${app.reviews.authors.refresh.receive-timeout-ms:1000}") long receiveTimeoutMillis) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setPrefetchCount(Math.max(batchSize, 250));
+        factory.setReceiveTimeout(receiveTimeoutMillis);
+        return factory;
+    }
+
+    /**
+     * Message Converter para serialización JSON.
+     * Al consumir se usa el tipo del parámetro del listener, no el __TypeId__ del productor.
      */
     @Bean
     public MessageConverter jsonMessageConverter() {
-        return new Jackson2JsonMessageConverter();
+        Jackson2JsonMessageConverter converter = new Jackson2JsonMessageConverter();
+        converter.setTypePrecedence(Jackson2JavaTypeMapper.TypePrecedence.INFERRED);
+        return converter;
     }
 
     /**
-     * RabbitTemplate configurado con JSON converter
+     * RabbitTemplate configurado con JSON converter.
+     * Se configura con las propiedades spring.rabbitmq.template.* (incluida observation-enabled).
      */
     @Bean
-    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
-        RabbitTemplate rabbitTemplate = new RabbitTemplate(connectionFactory);
+    public RabbitTemplate rabbitTemplate(RabbitTemplateConfigurer configurer, ConnectionFactory connectionFactory) {
+        RabbitTemplate rabbitTemplate = new RabbitTemplate();
+        configurer.configure(rabbitTemplate, connectionFactory);
         rabbitTemplate.setMessageConverter(jsonMessageConverter());
         return rabbitTemplate;
     }
@@ -0,0 +1,116 @@
+package com.iwellness.reviews.config;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.iwellness.reviews.datasource.ReadYourWritesFilter;
+import com.iwellness.reviews.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Réplicas de lectura: las transacciones readOnly van a las réplicas y el resto al primario
+ * (spring.datasource). Solo se activa con app.reviews.read-replicas.enabled=true; si no,
+ * Spring Boot configura el DataSource como siempre.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.reviews.read-replicas", name = "enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            DataSourceProperties properties,
+            MeterRegistry meterRegistry,
+            @Value("${app.reviews.read-replicas.urls}") List<String> urls,
+            @Value("${app.reviews.read-replicas.username:${spring.datasource.username:}}") String username,
+            @Value("${app.reviews.read-replicas.password:${spring.datasource.password:}}") String password,
+            @Value("${app.reviews.read-replicas.max-pool-size:10}") int maxPoolSize,
+            @Value("${app.reviews.read-replicas.connection-timeout-ms:1000}") long connectionTimeoutMillis,
+            @Value("${app.reviews.read-replicas.retry-after-ms:30000}") long retryAfterMillis) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : urls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setJdbcUrl(url.trim());
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setMaximumPoolSize(maxPoolSize);
+            replica.setReadOnly(true);
+            // Una réplica caída no debe bloquear el arranque ni las peticiones: se usa el primario
+            replica.setInitializationFailTimeout(-1);
+            replica.setConnectionTimeout(connectionTimeoutMillis);
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(replica);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, retryAfterMillis, meterRegistry);
+    }
+
+    /**
+     * DataSource que usan JPA y Flyway. La conexión real se pide en la primera sentencia,
+     * cuando ya se sabe si la transacción es readOnly.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+        // Valores fijos para no abrir una conexión al arrancar solo para leerlos
+        proxy.setDefaultAutoCommit(true);
+        proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return proxy;
+    }
+
+    /**
+     * Con open-in-view la sesión de Hibernate dura toda la petición y, por defecto, retiene la
+     * primera conexión: una escritura posterior a una lectura acabaría en la réplica. Se libera
+     * la conexión al terminar cada transacción para que cada una pase por el enrutado.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.reviews.read-replicas", name = "pin-after-write-ms")
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+            @Value("${app.reviews.read-replicas.pin-after-write-ms}") long pinAfterWriteMillis,
+            @Value("${app.reviews.read-replicas.pinned-users-max-entries:100000}") long maxUsers) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(
+                new ReadYourWritesFilter(Duration.ofMillis(pinAfterWriteMillis), maxUsers));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        registration.setEnabled(pinAfterWriteMillis > 0);
+        return registration;
+    }
+}
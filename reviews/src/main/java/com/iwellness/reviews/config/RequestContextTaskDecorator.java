@@ -0,0 +1,49 @@
+package com.iwellness.reviews.config;
+
+import java.util.Map;
+
+import org.springframework.core.task.TaskDecorator;
+
+import com.iwellness.reviews.datasource.ReplicaRoutingDataSource;
+import com.iwellness.reviews.metrics.RequestMetrics;
+
+/**
+ * Copia al hilo que ejecuta la tarea el contexto de la petición HTTP actual que necesitan
+ * las llamadas en paralelo a otros microservicios: los headers que propaga
+ * {@link FeignClientInterceptor}, los contadores de {@link RequestMetrics} y la lectura desde
+ * el primario tras una escritura ({@link ReplicaRoutingDataSource#pinToPrimary()}).
+ * Se capturan al enviar la tarea, no se guardan los atributos de la petición: las consultas
+ * que terminan después de la respuesta no pueden tocar una petición ya reciclada.
+ */
+public class RequestContextTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        Map<String, String> headers = FeignClientInterceptor.currentHeaders();
+        RequestMetrics metrics = RequestMetrics.current();
+        boolean pinned = ReplicaRoutingDataSource.isPinnedToPrimary();
+        return () -> {
+            Map<String, String> previousHeaders = FeignClientInterceptor.currentCapturedHeaders();
+            RequestMetrics previousMetrics = RequestMetrics.current();
+            boolean previouslyPinned = ReplicaRoutingDataSource.isPinnedToPrimary();
+            FeignClientInterceptor.setCapturedHeaders(headers);
+            RequestMetrics.set(metrics);
+            setPinned(pinned);
+            try {
+                runnable.run();
+            } finally {
+                FeignClientInterceptor.setCapturedHeaders(previousHeaders);
+                RequestMetrics.set(previousMetrics);
+                setPinned(previouslyPinned);
+            }
+        };
+    }
+
+    private static void setPinned(boolean pinned) {
+        if (pinned) {
+            ReplicaRoutingDataSource.pinToPrimary();
+        } else {
+            ReplicaRoutingDataSource.clearPin();
+        }
+    }
+}
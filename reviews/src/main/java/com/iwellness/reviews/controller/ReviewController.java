@@ -1,9 +1,19 @@
 package com.iwellness.reviews.controller;
 
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,10 +25,32 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.iwellness.reviews.dto.CursorPageDTO;
+import com.iwellness.reviews.dto.LeaderboardEntryDTO;
+import com.iwellness.reviews.dto.RatingBatchRequestDTO;
 import com.iwellness.reviews.dto.RatingDTO;
+import com.iwellness.reviews.dto.RatingTrendDTO;
+import com.iwellness.reviews.dto.ReviewImportReportDTO;
 import com.iwellness.reviews.dto.ReviewRequestDTO;
 import com.iwellness.reviews.dto.ReviewResponseDTO;
+import com.iwellness.reviews.exception.InvalidPageRequestException;
+import com.iwellness.reviews.exception.InvalidSearchQueryException;
+import com.iwellness.reviews.exception.InvalidTrendRequestException;
+import com.iwellness.reviews.exception.UnauthorizedReviewAccessException;
+import com.iwellness.reviews.model.EntityType;
+import com.iwellness.reviews.model.EntityVersion;
+import com.iwellness.reviews.model.ExportFormat;
+import com.iwellness.reviews.model.ReviewExportFilter;
+import com.iwellness.reviews.model.TrendGranularity;
+import com.iwellness.reviews.service.ReviewExportService;
+import com.iwellness.reviews.service.ReviewImportService;
 import com.iwellness.reviews.service.ReviewService;
 
 import jakarta.validation.Valid;
@@ -29,10 +61,27 @@ import lombok.extern.slf4j.Slf4j;
 @RequestMapping("/api/reviews")
 public class ReviewController {
 
+    private static final int MAX_SEARCH_QUERY_LENGTH = 200;
+
     private final ReviewService reviewService;
+    private final ReviewImportService reviewImportService;
+    private final ReviewExportService reviewExportService;
+    private final int maxPageSize;
+    private final long exportTimeoutMillis;
+    private final Set<Long> adminUserIds;
 
-    public ReviewController(ReviewService reviewService) {
+    public ReviewController(ReviewService reviewService,
+                            ReviewImportService reviewImportService,
+                            ReviewExportService reviewExportService,
+                            @Value("${app.reviews.pagination.max-size:100}") int maxPageSize,
+                            @Value("${app.reviews.export.timeout-ms:1800000}") long exportTimeoutMillis,
+                            @Value("${app.reviews.admin-user-ids:}") Set<Long> adminUserIds) {
         this.reviewService = reviewService;
+        this.reviewImportService = reviewImportService;
+        this.reviewExportService = reviewExportService;
+        this.maxPageSize = maxPageSize;
+        this.exportTimeoutMillis = exportTimeoutMillis;
+        this.adminUserIds = adminUserIds;
     }
 
     @PostMapping
@@ -45,6 +94,45 @@ public class ReviewController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    // Importación masiva: una reseña por línea (NDJSON), leída como stream sin cargar el cuerpo en memoria.
+    // Crea reseñas en nombre de cualquier usuario, así que solo la pueden usar los administradores
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ReviewImportReportDTO> importReviews(
+            InputStream body,
+            @RequestHeader("X-User-Id") Long userId) {
+        log.info("POST /api/reviews/import - User: {}", userId);
+        requireAdmin(userId);
+        ReviewImportReportDTO report = reviewImportService.importReviews(body);
+        return ResponseEntity.ok(report);
+    }
+
+    // Exportación en streaming (NDJSON o CSV); los filtros son opcionales y combinables.
+    // Sin filtros vuelca la tabla completa con los IDs de los autores: solo para administradores
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportReviews(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String entityType,
+            @RequestParam(required = false) Long entityId,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestHeader("X-User-Id") Long requesterId,
+            WebRequest webRequest) {
+        requireAdmin(requesterId);
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        ReviewExportFilter filter = ReviewExportFilter.of(entityType, entityId, userId, from, to);
+        log.info("GET /api/reviews/export - User: {}, Format: {}, Filter: {}", requesterId, exportFormat, filter);
+        applyExportTimeout(webRequest);
+        StreamingResponseBody body = out -> reviewExportService.export(filter, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("reviews-export." + exportFormat.getExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
     @PutMapping("/{reviewId}")
     public ResponseEntity<ReviewResponseDTO> updateReview(
             @PathVariable Long reviewId,
@@ -83,15 +171,105 @@ public class ReviewController {
         return ResponseEntity.ok(reviews);
     }
 
+    // Búsqueda en los comentarios de las reseñas de una entidad, ordenada por relevancia
+    @GetMapping("/entity/{entityType}/{entityId}/search")
+    public ResponseEntity<Page<ReviewResponseDTO>> searchReviews(
+            @PathVariable String entityType,
+            @PathVariable Long entityId,
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        log.info("GET /api/reviews/entity/{}/{}/search - Query: '{}', Page: {}, Size: {}",
+                entityType, entityId, q, page, size);
+        if (q.isBlank() || q.length() > MAX_SEARCH_QUERY_LENGTH) {
+            throw new InvalidSearchQueryException(
+                    "La búsqueda no puede estar vacía ni superar " + MAX_SEARCH_QUERY_LENGTH + " caracteres");
+        }
+        validatePage(page, size);
+        Page<ReviewResponseDTO> reviews = reviewService.searchReviewsByEntity(entityId, entityType, q.trim(), page, size);
+        return ResponseEntity.ok(reviews);
+    }
+
+    // Modo cursor: se activa con el parámetro "cursor" (vacío para la primera página)
+    @GetMapping(value = "/entity/{entityType}/{entityId}", params = "cursor")
+    public ResponseEntity<CursorPageDTO<ReviewResponseDTO>> getReviewsByEntityCursor(
+            @PathVariable String entityType,
+            @PathVariable Long entityId,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        log.info("GET /api/reviews/entity/{}/{} - Cursor: '{}', Size: {}", entityType, entityId, cursor, size);
+        validatePageSize(size);
+        CursorPageDTO<ReviewResponseDTO> reviews = reviewService.getReviewsByEntityCursor(entityId, entityType, cursor, size);
+        return ResponseEntity.ok(reviews);
+    }
+
     @GetMapping("/entity/{entityType}/{entityId}/rating")
     public ResponseEntity<RatingDTO> getEntityRating(
             @PathVariable String entityType,
-            @PathVariable Long entityId) {
+            @PathVariable Long entityId,
+            WebRequest webRequest) {
         log.info("GET /api/reviews/entity/{}/{}/rating", entityType, entityId);
+        if (notModified(webRequest, entityType, entityId)) {
+            return null;
+        }
         RatingDTO rating = reviewService.getRatingByEntity(entityId, entityType);
         return ResponseEntity.ok(rating);
     }
 
+    // Evolución de la calificación: un punto por periodo con reseñas, leído de los cubos de entity_rating_trend.
+    // Sin "to" el rango acaba mañana y la serie cambia cada día aunque la entidad no cambie: solo se
+    // responde 304 cuando el rango es fijo
+    @GetMapping("/entity/{entityType}/{entityId}/trends")
+    public ResponseEntity<RatingTrendDTO> getRatingTrend(
+            @PathVariable String entityType,
+            @PathVariable Long entityId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "MONTH") String granularity,
+            WebRequest webRequest) {
+        log.info("GET /api/reviews/entity/{}/{}/trends - From: {}, To: {}, Granularity: {}",
+                entityType, entityId, from, to, granularity);
+        TrendGranularity trendGranularity = TrendGranularity.parse(granularity);
+        LocalDate rangeTo = to != null ? to : LocalDate.now().plusDays(1);
+        LocalDate rangeFrom = from != null ? from : rangeTo.minusYears(1);
+        if (trendGranularity == null) {
+            throw new InvalidTrendRequestException("Granularidad no válida: " + granularity);
+        }
+        if (!rangeFrom.isBefore(rangeTo)) {
+            throw new InvalidTrendRequestException("'from' debe ser anterior a 'to'");
+        }
+        if (to != null && notModified(webRequest, entityType, entityId)) {
+            return null;
+        }
+        RatingTrendDTO trend = reviewService.getRatingTrend(entityId, entityType, rangeFrom, rangeTo, trendGranularity);
+        return ResponseEntity.ok(trend);
+    }
+
+    @PostMapping("/ratings/batch")
+    public ResponseEntity<List<RatingDTO>> getRatingsBatch(@Valid @RequestBody RatingBatchRequestDTO requestDTO) {
+        log.info("POST /api/reviews/ratings/batch - Entities: {}", requestDTO.getEntities().size());
+        List<RatingDTO> ratings = reviewService.getRatingsByEntities(requestDTO.getEntities());
+        return ResponseEntity.ok(ratings);
+    }
+
+    // Ranking de entidades mejor valoradas por media bayesiana (p. ej. portada: servicios y proveedores)
+    @GetMapping("/leaderboard/{entityType}")
+    public ResponseEntity<Page<LeaderboardEntryDTO>> getLeaderboard(
+            @PathVariable String entityType,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        log.info("GET /api/reviews/leaderboard/{} - Page: {}, Size: {}", entityType, page, size);
+        EntityType type;
+        try {
+            type = EntityType.valueOf(entityType.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPageRequestException("Tipo de entidad desconocido: " + entityType);
+        }
+        validatePage(page, size);
+        Page<LeaderboardEntryDTO> leaderboard = reviewService.getLeaderboard(type.toString(), page, size);
+        return ResponseEntity.ok(leaderboard);
+    }
+
     @GetMapping("/entity/{entityType}/{entityId}/recent")
     public ResponseEntity<List<ReviewResponseDTO>> getRecentReviews(
             @PathVariable String entityType,
@@ -102,5 +280,52 @@ public class ReviewController {
         return ResponseEntity.ok(reviews);
     }
 
+    // Operaciones masivas: solo los usuarios de app.reviews.admin-user-ids; si no, 403 con ErrorResponse
+    private void requireAdmin(Long userId) {
+        if (!adminUserIds.contains(userId)) {
+            throw new UnauthorizedReviewAccessException("This operation requires an administrator");
+        }
+    }
+
+    // size entre 1 y app.reviews.pagination.max-size; si no, 400 con ErrorResponse
+    private void validatePageSize(int size) {
+        if (size < 1 || size > maxPageSize) {
+            throw new InvalidPageRequestException("El tamaño de página debe estar entre 1 y " + maxPageSize);
+        }
+    }
+
+    private void validatePage(int page, int size) {
+        if (page < 0) {
+            throw new InvalidPageRequestException("El número de página no puede ser negativo");
+        }
+        validatePageSize(size);
+    }
+
+    /**
+     * Las descargas grandes superan el timeout asíncrono general (spring.mvc.async.request-timeout);
+     * solo la exportación usa app.reviews.export.timeout-ms, aplicado justo antes de iniciar el streaming
+     */
+    private void applyExportTimeout(WebRequest webRequest) {
+        WebAsyncUtils.getAsyncManager(webRequest).registerCallableInterceptor(ReviewController.class.getName() + ".export",
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+                        if (request instanceof AsyncWebRequest asyncWebRequest) {
+                            asyncWebRequest.setTimeout(exportTimeoutMillis);
+                        }
+                    }
+                });
+    }
+
+    /**
+     * Compara If-None-Match / If-Modified-Since con la versión de la entidad. Si coinciden la
+     * respuesta queda en 304 sin ejecutar consultas; si no, se añaden ETag y Last-Modified a la
+     * respuesta. Solo para respuestas que dependen únicamente de las reseñas: los listados
+     * incluyen nombre y foto de los autores, que cambian sin cambiar la versión de la entidad.
+     */
+    private boolean notModified(WebRequest webRequest, String entityType, Long entityId) {
+        EntityVersion version = reviewService.getEntityVersion(entityId, entityType);
+        return webRequest.checkNotModified(version.eTag(), version.lastModified());
+    }
 }
 
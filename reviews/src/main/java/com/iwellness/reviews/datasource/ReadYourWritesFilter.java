@@ -0,0 +1,56 @@
+package com.iwellness.reviews.datasource;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Tras una escritura correcta de un usuario (cabecera X-User-Id), sus lecturas van al primario
+ * durante una ventana corta para que vea su propia reseña aunque las réplicas lleven retraso.
+ * El registro es local a cada instancia.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String USER_HEADER = "X-User-Id";
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesFilter(Duration pinWindow, long maxUsers) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(pinWindow)
+                .maximumSize(maxUsers)
+                .build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String userId = request.getHeader(USER_HEADER);
+        if (userId == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        boolean write = !"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod());
+        if (write || recentWriters.getIfPresent(userId) != null) {
+            ReplicaRoutingDataSource.pinToPrimary();
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingDataSource.clearPin();
+            if (write && response.getStatus() < 400) {
+                recentWriters.put(userId, Boolean.TRUE);
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.iwellness.reviews.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sends read-only transactions to the replicas (round-robin) and everything else to the
+ * primary. A replica that fails to hand out a connection is skipped for a while and the
+ * next one, or finally the primary, is used instead. Must be wrapped in a
+ * LazyConnectionDataSourceProxy so the connection is taken after the transaction has
+ * been marked read-only.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements DisposableBean {
+
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<HikariDataSource> replicas;
+    private final long retryAfterMillis;
+    private final AtomicInteger next = new AtomicInteger();
+    // Hasta cuándo (System.currentTimeMillis) se salta cada réplica tras un fallo
+    private final AtomicLongArray downUntil;
+    private final Counter primaryRoutes;
+    private final Counter replicaRoutes;
+    private final Counter fallbackRoutes;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicas,
+                                    long retryAfterMillis, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.retryAfterMillis = retryAfterMillis;
+        this.downUntil = new AtomicLongArray(replicas.size());
+        this.primaryRoutes = routeCounter(meterRegistry, "primary");
+        this.replicaRoutes = routeCounter(meterRegistry, "replica");
+        this.fallbackRoutes = routeCounter(meterRegistry, "fallback");
+    }
+
+    /**
+     * Send every transaction of the current thread to the primary until {@link #clearPin()}.
+     * The pin is per thread: work handed to other threads only keeps it when their executor
+     * decorates tasks with RequestContextTaskDecorator (the downstream bulkheads do).
+     */
+    public static void pinToPrimary() {
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+    }
+
+    public static void clearPin() {
+        PINNED_TO_PRIMARY.remove();
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return PINNED_TO_PRIMARY.get() != null;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(target -> target.getConnection(username, password));
+    }
+
+    @Override
+    public void destroy() {
+        replicas.forEach(HikariDataSource::close);
+    }
+
+    private Connection route(ConnectionSource source) throws SQLException {
+        if (!routeToReplica()) {
+            primaryRoutes.increment();
+            return source.connect(primary);
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            int index = (start + i) % replicas.size();
+            if (downUntil.get(index) > System.currentTimeMillis()) {
+                continue;
+            }
+            try {
+                Connection connection = source.connect(replicas.get(index));
+                replicaRoutes.increment();
+                return connection;
+            } catch (SQLException e) {
+                downUntil.set(index, System.currentTimeMillis() + retryAfterMillis);
+                log.warn("Replica {} unavailable, skipping it for {} ms: {}",
+                        replicas.get(index).getPoolName(), retryAfterMillis, e.getMessage());
+            }
+        }
+        fallbackRoutes.increment();
+        return source.connect(primary);
+    }
+
+    private boolean routeToReplica() {
+        return !replicas.isEmpty()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && PINNED_TO_PRIMARY.get() == null;
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection connect(DataSource target) throws SQLException;
+    }
+
+    private static Counter routeCounter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("reviews.datasource.routes")
+                .description("Conexiones entregadas por destino")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,22 @@
+package com.iwellness.reviews.dto;
+
+import com.iwellness.reviews.model.EntityType;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EntityReferenceDTO {
+
+    @NotNull(message = "El tipo de entidad es obligatorio (SERVICE o PROVIDER)")
+    private EntityType entityType;
+
+    @NotNull(message = "El ID de la entidad es obligatorio")
+    private Long entityId;
+}
@@ -0,0 +1,23 @@
+package com.iwellness.reviews.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Posición de una entidad en el ranking de mejor valoradas. score es la media bayesiana
+ * usada para ordenar; averageRating es la media simple de sus reseñas.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LeaderboardEntryDTO {
+    private long rank;
+    private String entityType;
+    private Long entityId;
+    private Double score;
+    private Double averageRating;
+    private Long totalReviews;
+}
@@ -0,0 +1,22 @@
+package com.iwellness.reviews.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RatingBatchRequestDTO {
+
+    @NotEmpty(message = "Debe indicar al menos una entidad")
+    @Size(max = 100, message = "No se pueden consultar más de 100 entidades por petición")
+    private List<@Valid EntityReferenceDTO> entities;
+}
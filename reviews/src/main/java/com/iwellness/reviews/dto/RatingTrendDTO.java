@@ -0,0 +1,38 @@
+package com.iwellness.reviews.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RatingTrendDTO {
+    private String entityType;
+    private Long entityId;
+    private String granularity;
+    private LocalDate from;
+    private LocalDate to;
+    private List<TrendPoint> points;
+
+    /**
+     * Reseñas creadas en un periodo. granularity es la pedida salvo en los periodos ya
+     * compactados a uno mayor (p. ej. MONTH en una serie semanal antigua).
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class TrendPoint {
+        private LocalDate bucketStart;
+        private String granularity;
+        private Double averageRating;
+        private Long totalReviews;
+        private RatingDTO.RatingDistribution distribution;
+    }
+}
@@ -0,0 +1,26 @@
+package com.iwellness.reviews.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Fila de la exportación: columnas de la tabla reviews, sin datos del autor
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReviewExportDTO {
+    private Long id;
+    private String entityType;
+    private Long entityId;
+    private Long userId;
+    private Integer rating;
+    private String comment;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
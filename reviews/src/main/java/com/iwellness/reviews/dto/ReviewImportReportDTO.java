@@ -0,0 +1,31 @@
+package com.iwellness.reviews.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReviewImportReportDTO {
+    private long received;
+    private long imported;
+    private long duplicates;
+    private long failed;
+    private List<RowError> errors;
+    // true si hubo más errores de los que se devuelven en "errors"
+    private boolean errorsTruncated;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class RowError {
+        private long line;
+        private String message;
+    }
+}
@@ -0,0 +1,48 @@
+package com.iwellness.reviews.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.iwellness.reviews.model.EntityType;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PastOrPresent;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Una línea del NDJSON de importación masiva (reseñas migradas de otras plataformas)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ReviewImportRowDTO {
+
+    @NotNull(message = "El ID de la entidad es obligatorio")
+    private Long entityId;
+
+    @NotNull(message = "El tipo de entidad es obligatorio (SERVICE o PROVIDER)")
+    private EntityType entityType;
+
+    @NotNull(message = "El ID del usuario es obligatorio")
+    private Long userId;
+
+    @NotNull(message = "La calificación es obligatoria")
+    @Min(value = 1, message = "La calificación mínima es 1")
+    @Max(value = 5, message = "La calificación máxima es 5")
+    private Integer rating;
+
+    @Size(max = 1000, message = "El comentario no puede exceder 1000 caracteres")
+    private String comment;
+
+    // Fecha original de la reseña; si falta se usa la fecha de importación
+    @PastOrPresent(message = "La fecha de creación no puede ser futura")
+    private LocalDateTime createdAt;
+}
@@ -1,5 +1,8 @@
 package com.iwellness.reviews.dto;
 
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.iwellness.reviews.model.Reviewable;
 
 import lombok.Data;
@@ -12,6 +15,10 @@ public class UsuarioDTO implements Reviewable {
     private String correo;
     private String foto;
 
+    // Momento en que se leyó de admin-users-service (las copias cacheadas lo conservan); no se serializa
+    @JsonIgnore
+    private LocalDateTime fetchedAt;
+
     @Override
     public Long getId() {
         return id;
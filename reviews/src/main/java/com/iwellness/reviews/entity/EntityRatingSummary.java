@@ -0,0 +1,67 @@
+package com.iwellness.reviews.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Contadores de calificación por entidad, mantenidos en la misma transacción
+ * que las escrituras de reseñas.
+ */
+@Entity
+@Table(name = "entity_rating_summary")
+@IdClass(EntityRatingSummaryId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EntityRatingSummary {
+
+    @Id
+    @Column(name = "entity_type", nullable = false, length = 20)
+    private String entityType;
+
+    @Id
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "review_count", nullable = false)
+    private long reviewCount;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    @Column(name = "one_star", nullable = false)
+    private long oneStar;
+
+    @Column(name = "two_stars", nullable = false)
+    private long twoStars;
+
+    @Column(name = "three_stars", nullable = false)
+    private long threeStars;
+
+    @Column(name = "four_stars", nullable = false)
+    private long fourStars;
+
+    @Column(name = "five_stars", nullable = false)
+    private long fiveStars;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Se incrementa en cada escritura; alimenta el ETag de calificaciones y listados
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    // Media bayesiana para el ranking; se recalcula en cada escritura (ver RatingSummaryService)
+    @Column(name = "bayesian_score", nullable = false)
+    private double bayesianScore;
+}
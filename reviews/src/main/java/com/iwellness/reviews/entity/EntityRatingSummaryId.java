@@ -0,0 +1,15 @@
+package com.iwellness.reviews.entity;
+
+import java.io.Serializable;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EntityRatingSummaryId implements Serializable {
+    private String entityType;
+    private Long entityId;
+}
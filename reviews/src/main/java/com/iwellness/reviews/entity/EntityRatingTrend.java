@@ -0,0 +1,70 @@
+package com.iwellness.reviews.entity;
+
+import java.time.LocalDate;
+
+import com.iwellness.reviews.model.TrendGranularity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Contadores de calificación de una entidad en un periodo (día, semana o mes), según la
+ * fecha de creación de cada reseña. Las escrituras mantienen los cubos diarios; la
+ * compactación los agrupa en semanas y meses.
+ */
+@Entity
+@Table(name = "entity_rating_trend")
+@IdClass(EntityRatingTrendId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EntityRatingTrend {
+
+    @Id
+    @Column(name = "entity_type", nullable = false, length = 20)
+    private String entityType;
+
+    @Id
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularity", nullable = false, length = 10)
+    private TrendGranularity granularity;
+
+    @Id
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDate bucketStart;
+
+    @Column(name = "review_count", nullable = false)
+    private long reviewCount;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    @Column(name = "one_star", nullable = false)
+    private long oneStar;
+
+    @Column(name = "two_stars", nullable = false)
+    private long twoStars;
+
+    @Column(name = "three_stars", nullable = false)
+    private long threeStars;
+
+    @Column(name = "four_stars", nullable = false)
+    private long fourStars;
+
+    @Column(name = "five_stars", nullable = false)
+    private long fiveStars;
+}
@@ -0,0 +1,20 @@
+package com.iwellness.reviews.entity;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import com.iwellness.reviews.model.TrendGranularity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EntityRatingTrendId implements Serializable {
+    private String entityType;
+    private Long entityId;
+    private TrendGranularity granularity;
+    private LocalDate bucketStart;
+}
@@ -0,0 +1,41 @@
+package com.iwellness.reviews.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entidad con un RatingChanged pendiente de publicar, escrita en la misma transacción
+ * que el cambio de calificación.
+ */
+@Entity
+@Table(name = "rating_changed_pending")
+@IdClass(EntityRatingSummaryId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RatingChangedPending {
+
+    @Id
+    @Column(name = "entity_type", nullable = false, length = 20)
+    private String entityType;
+
+    @Id
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "first_marked_at", nullable = false)
+    private LocalDateTime firstMarkedAt;
+
+    @Column(name = "last_marked_at", nullable = false)
+    private LocalDateTime lastMarkedAt;
+}
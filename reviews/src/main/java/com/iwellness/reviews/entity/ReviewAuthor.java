@@ -0,0 +1,43 @@
+package com.iwellness.reviews.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Copia local del perfil público de un autor de reseñas (admin-users-service), escrita al
+ * crear reseñas y refrescada por los eventos de actualización de perfil.
+ */
+@Entity
+@Table(name = "review_authors")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReviewAuthor {
+
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "nombre")
+    private String nombre;
+
+    @Column(name = "apellido")
+    private String apellido;
+
+    @Column(name = "foto", columnDefinition = "TEXT")
+    private String foto;
+
+    // Momento del perfil que refleja la copia: updatedAt del evento, o la hora de la consulta
+    // al copiarlo de admin-users-service. Solo se sobrescribe con datos posteriores.
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,24 @@
+package com.iwellness.reviews.event;
+
+import java.io.Serializable;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Evento de otros microservicios cuando un servicio o proveedor se elimina o desactiva
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class EntityLifecycleEvent implements Serializable {
+    @JsonAlias({"serviceId", "servicioId", "providerId", "proveedorId", "userId", "usuarioId"})
+    private Long id;
+}
@@ -0,0 +1,25 @@
+package com.iwellness.reviews.event;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Un único evento al terminar de borrar las reseñas de una entidad eliminada, en lugar
+ * de un ReviewDeleted por fila
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EntityReviewsPurgedEvent implements Serializable {
+    private Long serviceId;
+    private String entityType;
+    private Long entityId;
+    private long deletedReviews;
+    private LocalDateTime purgedAt;
+}
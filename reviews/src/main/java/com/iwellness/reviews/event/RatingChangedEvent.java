@@ -3,6 +3,8 @@ package com.iwellness.reviews.event;
 import java.io.Serializable;
 import java.time.LocalDateTime;
 
+import com.iwellness.reviews.dto.RatingDTO;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -13,6 +15,11 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @Builder
 public class RatingChangedEvent implements Serializable {
-    private Long serviceId;
+    private Long serviceId; // Solo para entidades SERVICE, por compatibilidad con consumidores existentes
+    private String entityType;
+    private Long entityId;
+    private Double averageRating;
+    private Long totalReviews;
+    private RatingDTO.RatingDistribution distribution;
     private LocalDateTime timestamp;
 }
@@ -0,0 +1,33 @@
+package com.iwellness.reviews.event;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Un evento por lote de la importación masiva, en lugar de un ReviewCreated por fila
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReviewsImportedEvent implements Serializable {
+    private int imported;
+    private List<ImportedEntity> entities;
+    private LocalDateTime importedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ImportedEntity implements Serializable {
+        private String entityType;
+        private Long entityId;
+        private int reviews;
+    }
+}
@@ -0,0 +1,31 @@
+package com.iwellness.reviews.event;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Evento de admin-users-service cuando un usuario cambia su perfil público
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class UserProfileUpdatedEvent implements Serializable {
+    @JsonAlias({"userId", "usuarioId"})
+    private Long id;
+    private String nombre;
+    private String apellido;
+    private String foto;
+    // Momento del cambio en admin-users-service; ordena los eventos que llegan tarde
+    @JsonAlias({"fechaActualizacion", "timestamp"})
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,7 @@
+package com.iwellness.reviews.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.iwellness.reviews.exception;
+
+public class InvalidExportRequestException extends RuntimeException {
+    public InvalidExportRequestException(String message) {
+        super(message);
+    }
+}
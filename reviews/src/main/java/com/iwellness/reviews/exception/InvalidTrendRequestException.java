@@ -0,0 +1,7 @@
+package com.iwellness.reviews.exception;
+
+public class InvalidTrendRequestException extends RuntimeException {
+    public InvalidTrendRequestException(String message) {
+        super(message);
+    }
+}
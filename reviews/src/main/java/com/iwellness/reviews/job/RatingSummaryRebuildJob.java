@@ -0,0 +1,30 @@
+package com.iwellness.reviews.job;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.iwellness.reviews.service.RatingSummaryService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Recalcula periódicamente entity_rating_summary desde la tabla reviews para
+ * corregir cualquier desviación de los contadores incrementales.
+ * Desactivado por defecto ("-"); se habilita con app.reviews.rating-summary.rebuild-cron.
+ */
+@Slf4j
+@Component
+public class RatingSummaryRebuildJob {
+
+    private final RatingSummaryService ratingSummaryService;
+
+    public RatingSummaryRebuildJob(RatingSummaryService ratingSummaryService) {
+        this.ratingSummaryService = ratingSummaryService;
+    }
+
+    @Scheduled(cron = "${app.reviews.rating-summary.rebuild-cron:-}")
+    public void rebuild() {
+        log.info("Starting scheduled rating summary rebuild");
+        ratingSummaryService.rebuild();
+    }
+}
@@ -0,0 +1,30 @@
+package com.iwellness.reviews.job;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.iwellness.reviews.service.RatingTrendService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Agrupa periódicamente los cubos diarios antiguos de entity_rating_trend en semanas y
+ * meses para que la tabla no crezca con un registro por entidad y día indefinidamente.
+ * Desactivado por defecto ("-"); se habilita con app.reviews.trends.compaction-cron.
+ */
+@Slf4j
+@Component
+public class RatingTrendCompactionJob {
+
+    private final RatingTrendService ratingTrendService;
+
+    public RatingTrendCompactionJob(RatingTrendService ratingTrendService) {
+        this.ratingTrendService = ratingTrendService;
+    }
+
+    @Scheduled(cron = "${app.reviews.trends.compaction-cron:-}")
+    public void compact() {
+        log.info("Starting scheduled rating trend compaction");
+        ratingTrendService.compact();
+    }
+}
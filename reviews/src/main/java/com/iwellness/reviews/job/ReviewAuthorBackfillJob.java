@@ -0,0 +1,55 @@
+package com.iwellness.reviews.job;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.iwellness.reviews.service.ReviewAuthorService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Copia en review_authors el perfil de los autores que aún no lo tienen (reseñas anteriores
+ * a V13 o autores que no se pudieron consultar al escribir).
+ * Se ejecuta una vez al arrancar, en segundo plano (app.reviews.authors.backfill-on-startup,
+ * activado por defecto); la ejecución periódica se habilita con app.reviews.authors.backfill-cron.
+ */
+@Slf4j
+@Component
+public class ReviewAuthorBackfillJob {
+
+    private final ReviewAuthorService reviewAuthorService;
+    private final boolean backfillOnStartup;
+
+    public ReviewAuthorBackfillJob(ReviewAuthorService reviewAuthorService,
+                                   @Value("${app.reviews.authors.backfill-on-startup:true}") boolean backfillOnStartup) {
+        this.reviewAuthorService = reviewAuthorService;
+        this.backfillOnStartup = backfillOnStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (!backfillOnStartup) {
+            return;
+        }
+        // Sin bloquear el arranque: mientras tanto las lecturas resuelven los autores que falten
+        Thread backfill = new Thread(() -> {
+            try {
+                log.info("Starting review author backfill on startup");
+                reviewAuthorService.backfill();
+            } catch (RuntimeException e) {
+                log.error("Review author backfill on startup failed: {}", e.getMessage(), e);
+            }
+        }, "review-author-backfill");
+        backfill.setDaemon(true);
+        backfill.start();
+    }
+
+    @Scheduled(cron = "${app.reviews.authors.backfill-cron:-}")
+    public void backfill() {
+        log.info("Starting scheduled review author backfill");
+        reviewAuthorService.backfill();
+    }
+}
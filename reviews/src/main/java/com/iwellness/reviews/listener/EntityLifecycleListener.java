@@ -0,0 +1,64 @@
+package com.iwellness.reviews.listener;
+
+import java.util.List;
+
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+import com.iwellness.reviews.event.EntityLifecycleEvent;
+import com.iwellness.reviews.model.EntityType;
+import com.iwellness.reviews.service.ReviewableService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Consume los eventos de eliminación/desactivación de servicios y proveedores para
+ * invalidar la caché de entidades reseñables. Cada instancia consume de su propia cola
+ * (RabbitMQConfig#entityLifecycleQueue), así que el evento llega a todas. El borrado de las reseñas de una entidad
+ * eliminada lo hace EntityPurgeListener desde su propia cola, así un borrado largo no
+ * retrasa las invalidaciones.
+ */
+@Slf4j
+@Component
+public class EntityLifecycleListener {
+
+    private final ReviewableService reviewableService;
+    private final List<String> servicioRoutingKeys;
+    private final List<String> providerRoutingKeys;
+
+    public EntityLifecycleListener(ReviewableService reviewableService,
+                                   @Value("${rabbitmq.routing-keys.servicio-deleted}") String servicioDeleted,
+                                   @Value("${rabbitmq.routing-keys.servicio-disabled}") String servicioDisabled,
+                                   @Value("${rabbitmq.routing-keys.provider-deleted}") String providerDeleted,
+                                   @Value("${rabbitmq.routing-keys.provider-disabled}") String providerDisabled) {
+        this.reviewableService = reviewableService;
+        this.servicioRoutingKeys = List.of(servicioDeleted, servicioDisabled);
+        this.providerRoutingKeys = List.of(providerDeleted, providerDisabled);
+    }
+
+    @RabbitListener(queues = "#{entityLifecycleQueue.name}")
+    public void onEntityLifecycleEvent(@Payload EntityLifecycleEvent event,
+                                       @Header(AmqpHeaders.RECEIVED_ROUTING_KEY) String routingKey) {
+        EntityType entityType = resolveEntityType(routingKey);
+        if (entityType == null || event.getId() == null) {
+            log.warn("Evento de ciclo de vida ignorado - routing key: {}, id: {}", routingKey, event.getId());
+            return;
+        }
+        reviewableService.evict(entityType, event.getId());
+        log.info("Entidad {} {} retirada de la caché de reseñables ({})", entityType, event.getId(), routingKey);
+    }
+
+    private EntityType resolveEntityType(String routingKey) {
+        if (servicioRoutingKeys.contains(routingKey)) {
+            return EntityType.SERVICE;
+        }
+        if (providerRoutingKeys.contains(routingKey)) {
+            return EntityType.PROVIDER;
+        }
+        return null;
+    }
+}
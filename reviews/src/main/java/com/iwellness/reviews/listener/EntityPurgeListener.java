@@ -0,0 +1,58 @@
+package com.iwellness.reviews.listener;
+
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+import com.iwellness.reviews.event.EntityLifecycleEvent;
+import com.iwellness.reviews.model.EntityType;
+import com.iwellness.reviews.service.ReviewPurgeService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Borra las reseñas de los servicios y proveedores eliminados. Tiene su propia cola y un solo
+ * consumidor: el borrado por bloques (con pausas) puede tardar, y así no bloquea el hilo de
+ * EntityLifecycleListener, que sigue invalidando la caché de reseñables sin esperas. El mensaje
+ * se confirma al terminar el borrado; si la instancia cae, otra lo retoma donde quedó.
+ */
+@Slf4j
+@Component
+public class EntityPurgeListener {
+
+    private final ReviewPurgeService reviewPurgeService;
+    private final String servicioDeletedRoutingKey;
+    private final String providerDeletedRoutingKey;
+
+    public EntityPurgeListener(ReviewPurgeService reviewPurgeService,
+                               @Value("${rabbitmq.routing-keys.servicio-deleted}") String servicioDeletedRoutingKey,
+                               @Value("${rabbitmq.routing-keys.provider-deleted}") String providerDeletedRoutingKey) {
+        this.reviewPurgeService = reviewPurgeService;
+        this.servicioDeletedRoutingKey = servicioDeletedRoutingKey;
+        this.providerDeletedRoutingKey = providerDeletedRoutingKey;
+    }
+
+    @RabbitListener(queues = "${rabbitmq.queues.entity-purge}", concurrency = "1")
+    public void onEntityDeleted(@Payload EntityLifecycleEvent event,
+                                @Header(AmqpHeaders.RECEIVED_ROUTING_KEY) String routingKey) {
+        EntityType entityType = resolveEntityType(routingKey);
+        if (entityType == null || event.getId() == null) {
+            log.warn("Evento de borrado ignorado - routing key: {}, id: {}", routingKey, event.getId());
+            return;
+        }
+        reviewPurgeService.purgeEntity(entityType.toString(), event.getId());
+    }
+
+    private EntityType resolveEntityType(String routingKey) {
+        if (servicioDeletedRoutingKey.equals(routingKey)) {
+            return EntityType.SERVICE;
+        }
+        if (providerDeletedRoutingKey.equals(routingKey)) {
+            return EntityType.PROVIDER;
+        }
+        return null;
+    }
+}
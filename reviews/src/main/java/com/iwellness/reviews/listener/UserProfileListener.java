@@ -0,0 +1,49 @@
+package com.iwellness.reviews.listener;
+
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+import com.iwellness.reviews.event.UserProfileUpdatedEvent;
+import com.iwellness.reviews.service.ReviewAuthorService;
+import com.iwellness.reviews.service.UserProfileService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Consume en lotes los eventos de actualización de perfil de admin-users-service para
+ * refrescar la copia local de los autores de reseñas (review_authors). La cola compartida
+ * reparte cada lote a una sola instancia; la caché de perfiles de todas se invalida desde
+ * la cola propia de cada una (RabbitMQConfig#userProfileEvictQueue).
+ */
+@Slf4j
+@Component
+public class UserProfileListener {
+
+    private final ReviewAuthorService reviewAuthorService;
+    private final UserProfileService userProfileService;
+
+    public UserProfileListener(ReviewAuthorService reviewAuthorService, UserProfileService userProfileService) {
+        this.reviewAuthorService = reviewAuthorService;
+        this.userProfileService = userProfileService;
+    }
+
+    @RabbitListener(queues = "${rabbitmq.queues.user-profile}", containerFactory = "userProfileBatchListenerFactory")
+    public void onUserProfileUpdated(@Payload List<UserProfileUpdatedEvent> events) {
+        int refreshed = reviewAuthorService.refresh(events);
+        log.debug("Lote de {} eventos de perfil: {} autores actualizados", events.size(), refreshed);
+    }
+
+    // Que la siguiente reseña de estos usuarios no vuelva a escribir un perfil cacheado anterior
+    @RabbitListener(queues = "#{userProfileEvictQueue.name}", containerFactory = "userProfileBatchListenerFactory")
+    public void evictCachedProfiles(@Payload List<UserProfileUpdatedEvent> events) {
+        userProfileService.evict(events.stream()
+                .filter(Objects::nonNull)
+                .map(UserProfileUpdatedEvent::getId)
+                .filter(Objects::nonNull)
+                .toList());
+    }
+}
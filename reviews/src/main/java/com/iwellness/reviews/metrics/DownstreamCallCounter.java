@@ -0,0 +1,18 @@
+package com.iwellness.reviews.metrics;
+
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+
+/**
+ * Cuenta las llamadas Feign (incluidos los reintentos y los intentos hedged) de la petición HTTP en curso
+ */
+public class DownstreamCallCounter implements RequestInterceptor {
+
+    @Override
+    public void apply(RequestTemplate template) {
+        RequestMetrics metrics = RequestMetrics.current();
+        if (metrics != null) {
+            metrics.downstreamCallMade();
+        }
+    }
+}
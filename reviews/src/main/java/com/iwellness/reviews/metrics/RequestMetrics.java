@@ -0,0 +1,52 @@
+package com.iwellness.reviews.metrics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Contadores de la petición HTTP en curso: sentencias SQL y llamadas a otros microservicios.
+ * Se guardan en un ThreadLocal que RequestContextTaskDecorator copia a los hilos de los
+ * bulkheads. No dependen de los atributos de la petición, así que una consulta que termina
+ * después de la respuesta (fuera del plazo de lookup-deadline-ms) no falla por tener la
+ * petición ya cerrada: solo deja de contar.
+ */
+public class RequestMetrics {
+
+    private static final ThreadLocal<RequestMetrics> CURRENT = new ThreadLocal<>();
+
+    private final AtomicInteger sqlStatements = new AtomicInteger();
+    private final AtomicInteger downstreamCalls = new AtomicInteger();
+
+    /**
+     * Contadores de la petición actual, o null fuera de una petición HTTP
+     */
+    public static RequestMetrics current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Asocia los contadores al hilo actual; null los retira
+     */
+    public static void set(RequestMetrics metrics) {
+        if (metrics != null) {
+            CURRENT.set(metrics);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    public void sqlStatementExecuted() {
+        sqlStatements.incrementAndGet();
+    }
+
+    public void downstreamCallMade() {
+        downstreamCalls.incrementAndGet();
+    }
+
+    public int getSqlStatements() {
+        return sqlStatements.get();
+    }
+
+    public int getDownstreamCalls() {
+        return downstreamCalls.get();
+    }
+}
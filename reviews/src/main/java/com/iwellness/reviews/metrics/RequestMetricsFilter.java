@@ -0,0 +1,58 @@
+package com.iwellness.reviews.metrics;
+
+import java.io.IOException;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Publica por endpoint cuántas sentencias SQL y llamadas a otros microservicios hace cada
+ * petición (reviews.request.sql.statements, reviews.request.downstream.calls), para que
+ * los patrones N+1 se vean en los dashboards
+ */
+@Slf4j
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    public RequestMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestMetrics metrics = new RequestMetrics();
+        RequestMetrics previous = RequestMetrics.current();
+        RequestMetrics.set(metrics);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestMetrics.set(previous);
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            summary("reviews.request.sql.statements", "Sentencias SQL por petición", request, uri)
+                    .record(metrics.getSqlStatements());
+            summary("reviews.request.downstream.calls", "Llamadas a otros microservicios por petición", request, uri)
+                    .record(metrics.getDownstreamCalls());
+            log.debug("{} {} - {} sentencias SQL, {} llamadas externas",
+                    request.getMethod(), uri, metrics.getSqlStatements(), metrics.getDownstreamCalls());
+        }
+    }
+
+    private DistributionSummary summary(String name, String description, HttpServletRequest request, String uri) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry);
+    }
+}
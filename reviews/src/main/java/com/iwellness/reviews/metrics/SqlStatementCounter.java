@@ -0,0 +1,19 @@
+package com.iwellness.reviews.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Cuenta cada sentencia que Hibernate prepara dentro de una petición HTTP (incluye las
+ * consultas nativas y las de repositorios); no modifica el SQL
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestMetrics metrics = RequestMetrics.current();
+        if (metrics != null) {
+            metrics.sqlStatementExecuted();
+        }
+        return sql;
+    }
+}
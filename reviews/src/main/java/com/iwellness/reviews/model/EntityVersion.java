@@ -0,0 +1,33 @@
+package com.iwellness.reviews.model;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import lombok.Value;
+
+/**
+ * Version stamp of the reviews of an entity, used as validator for conditional GETs.
+ * The ETag also carries updatedAt so a summary rebuild (which restarts versions) never
+ * reuses a validator that was already handed out.
+ */
+@Value
+public class EntityVersion {
+
+    public static final EntityVersion NONE = new EntityVersion(0L, null);
+
+    long version;
+    LocalDateTime updatedAt;
+
+    public String eTag() {
+        return updatedAt == null
+                ? "\"" + version + "\""
+                : "\"" + version + "-" + lastModified() + "\"";
+    }
+
+    /**
+     * Last modification in epoch millis, or -1 if the entity has never been reviewed
+     */
+    public long lastModified() {
+        return updatedAt == null ? -1 : updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,60 @@
+package com.iwellness.reviews.model;
+
+import lombok.Getter;
+
+/**
+ * Change to apply to the rating counters of an entity after one or more review writes.
+ */
+@Getter
+public class RatingDelta {
+
+    private long count;
+    private long sum;
+    private long oneStar;
+    private long twoStars;
+    private long threeStars;
+    private long fourStars;
+    private long fiveStars;
+
+    public static RatingDelta added(int rating) {
+        return new RatingDelta().add(rating);
+    }
+
+    public static RatingDelta removed(int rating) {
+        return new RatingDelta().remove(rating);
+    }
+
+    public static RatingDelta changed(int oldRating, int newRating) {
+        return new RatingDelta().remove(oldRating).add(newRating);
+    }
+
+    /**
+     * True when applying this delta would not change any counter
+     */
+    public boolean isEmpty() {
+        return count == 0 && sum == 0 && oneStar == 0 && twoStars == 0
+                && threeStars == 0 && fourStars == 0 && fiveStars == 0;
+    }
+
+    public RatingDelta add(int rating) {
+        return apply(rating, 1);
+    }
+
+    public RatingDelta remove(int rating) {
+        return apply(rating, -1);
+    }
+
+    private RatingDelta apply(int rating, int sign) {
+        count += sign;
+        sum += (long) sign * rating;
+        switch (rating) {
+            case 1 -> oneStar += sign;
+            case 2 -> twoStars += sign;
+            case 3 -> threeStars += sign;
+            case 4 -> fourStars += sign;
+            case 5 -> fiveStars += sign;
+            default -> throw new IllegalArgumentException("Rating out of range: " + rating);
+        }
+        return this;
+    }
+}
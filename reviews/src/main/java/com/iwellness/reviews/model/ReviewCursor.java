@@ -0,0 +1,39 @@
+package com.iwellness.reviews.model;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.iwellness.reviews.exception.InvalidCursorException;
+
+import lombok.Value;
+
+/**
+ * Position of the last review of a page in (createdAt DESC, id DESC) order,
+ * exchanged with clients as an opaque URL-safe token.
+ */
+@Value
+public class ReviewCursor {
+
+    private static final String SEPARATOR = "|";
+
+    LocalDateTime createdAt;
+    Long id;
+
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ReviewCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new ReviewCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid cursor: " + token);
+        }
+    }
+}
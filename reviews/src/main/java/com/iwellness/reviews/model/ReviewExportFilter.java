@@ -0,0 +1,40 @@
+package com.iwellness.reviews.model;
+
+import java.time.LocalDateTime;
+
+import com.iwellness.reviews.exception.InvalidExportRequestException;
+
+import lombok.Value;
+
+/**
+ * Optional filters of a review export; every null field matches all reviews.
+ * createdAt is filtered as a half-open range [from, to).
+ */
+@Value
+public class ReviewExportFilter {
+
+    String entityType;
+    Long entityId;
+    Long userId;
+    LocalDateTime from;
+    LocalDateTime to;
+
+    public static ReviewExportFilter of(String entityType, Long entityId, Long userId,
+                                        LocalDateTime from, LocalDateTime to) {
+        if (entityId != null && entityType == null) {
+            throw new InvalidExportRequestException("entityId requires entityType");
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new InvalidExportRequestException("'from' must be before 'to'");
+        }
+        String type = null;
+        if (entityType != null) {
+            try {
+                type = EntityType.valueOf(entityType.toUpperCase()).toString();
+            } catch (IllegalArgumentException e) {
+                throw new InvalidExportRequestException("Unknown entity type: " + entityType);
+            }
+        }
+        return new ReviewExportFilter(type, entityId, userId, from, to);
+    }
+}
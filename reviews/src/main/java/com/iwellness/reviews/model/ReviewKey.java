@@ -0,0 +1,14 @@
+package com.iwellness.reviews.model;
+
+import lombok.Value;
+
+/**
+ * Natural key of a review: one review per user and entity (uk_entity_user)
+ */
+@Value
+public class ReviewKey {
+
+    String entityType;
+    Long entityId;
+    Long userId;
+}
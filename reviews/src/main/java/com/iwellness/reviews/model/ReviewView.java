@@ -0,0 +1,30 @@
+package com.iwellness.reviews.model;
+
+import java.time.LocalDateTime;
+
+import com.iwellness.reviews.entity.Review;
+
+import lombok.Value;
+
+/**
+ * Read-only projection of a review with just the columns the read endpoints return
+ * (no service_id, no comment_tsv), built by JPQL constructor expressions so no managed
+ * entity is hydrated or dirty-checked
+ */
+@Value
+public class ReviewView {
+
+    Long id;
+    String entityType;
+    Long entityId;
+    Long userId;
+    Integer rating;
+    String comment;
+    LocalDateTime createdAt;
+    LocalDateTime updatedAt;
+
+    public static ReviewView of(Review review) {
+        return new ReviewView(review.getId(), review.getEntityType(), review.getEntityId(), review.getUserId(),
+                review.getRating(), review.getComment(), review.getCreatedAt(), review.getUpdatedAt());
+    }
+}
@@ -0,0 +1,61 @@
+package com.iwellness.reviews.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Period of a rating trend bucket. Weeks start on Monday.
+ */
+public enum TrendGranularity {
+    DAY,
+    WEEK,
+    MONTH;
+
+    /**
+     * First day of the bucket of this granularity that contains the date
+     */
+    public LocalDate bucketStart(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+
+    /**
+     * First day of the stored bucket of this granularity that contains the date. Compacted
+     * weeks are cut at month boundaries, so a week starts on its Monday or on the 1st.
+     */
+    public LocalDate storedBucketStart(LocalDate date) {
+        return this == WEEK ? Collections.max(List.of(bucketStart(date), MONTH.bucketStart(date))) : bucketStart(date);
+    }
+
+    /**
+     * First day after the bucket that starts on the given date
+     */
+    public LocalDate bucketEnd(LocalDate bucketStart) {
+        return switch (this) {
+            case DAY -> bucketStart.plusDays(1);
+            case WEEK -> bucketStart.plusWeeks(1);
+            case MONTH -> bucketStart.plusMonths(1);
+        };
+    }
+
+    public TrendGranularity coarsest(TrendGranularity other) {
+        return compareTo(other) >= 0 ? this : other;
+    }
+
+    /**
+     * Parse a granularity name, case-insensitive; null if it is not one
+     */
+    public static TrendGranularity parse(String value) {
+        try {
+            return valueOf(value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
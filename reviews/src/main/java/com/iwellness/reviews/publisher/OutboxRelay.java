@@ -0,0 +1,176 @@
+package com.iwellness.reviews.publisher;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iwellness.reviews.entity.OutboxEvent;
+import com.iwellness.reviews.repository.OutboxEventRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drena el outbox en lotes y publica los eventos en RabbitMQ con publisher confirms.
+ * Las filas confirmadas se eliminan. Si el broker falla, el relay se detiene con backoff
+ * exponencial y las filas siguen siendo las primeras en la cola, así que los eventos se
+ * publican en orden (un review.updated no adelanta a su review.created). Las filas que no
+ * se pueden deserializar se reintentan con backoff propio y, tras max-attempts, se apartan.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${rabbitmq.exchange.name}")
+    private String exchangeName;
+
+    @Value("${app.reviews.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.reviews.outbox.confirm-timeout-ms:5000}")
+    private long confirmTimeoutMillis;
+
+    @Value("${app.reviews.outbox.retry-base-delay-ms:1000}")
+    private long retryBaseDelayMillis;
+
+    @Value("${app.reviews.outbox.retry-max-delay-ms:300000}")
+    private long retryMaxDelayMillis;
+
+    @Value("${app.reviews.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    // Backoff del relay tras fallos del broker (solo lo usa el hilo del @Scheduled)
+    private int brokerFailures = 0;
+    private long brokerRetryAtMillis = 0L;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       RabbitTemplate rabbitTemplate,
+                       ObjectMapper objectMapper,
+                       TransactionTemplate transactionTemplate,
+                       MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Scheduled(fixedDelayString = "${app.reviews.outbox.poll-interval-ms:1000}")
+    public void relay() {
+        if (System.currentTimeMillis() < brokerRetryAtMillis) {
+            return;
+        }
+        Integer published;
+        do {
+            published = transactionTemplate.execute(status -> publishBatch());
+        } while (published != null && published == batchSize);
+    }
+
+    /**
+     * Publica un lote de eventos pendientes y devuelve cuántos confirmó el broker (0 si falló).
+     * Debe ejecutarse dentro de una transacción: las filas quedan bloqueadas hasta la confirmación.
+     */
+    int publishBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> batch = outboxEventRepository.findReadyToPublish(now, PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<OutboxEvent> sendable = new ArrayList<>();
+        List<Object> events = new ArrayList<>();
+        for (OutboxEvent outboxEvent : batch) {
+            try {
+                events.add(objectMapper.readValue(outboxEvent.getPayload(), Class.forName(outboxEvent.getEventType())));
+                sendable.add(outboxEvent);
+            } catch (Exception e) {
+                markUnreadable(outboxEvent, e, now);
+            }
+        }
+        if (sendable.isEmpty()) {
+            return 0;
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            rabbitTemplate.invoke(operations -> {
+                for (int i = 0; i < sendable.size(); i++) {
+                    operations.convertAndSend(exchangeName, sendable.get(i).getRoutingKey(), events.get(i));
+                }
+                operations.waitForConfirmsOrDie(confirmTimeoutMillis);
+                return null;
+            });
+            outboxEventRepository.deleteAllInBatch(sendable);
+            record(sample, "success", sendable);
+            brokerFailures = 0;
+            log.info("Eventos publicados desde el outbox: {}", sendable.size());
+            return sendable.size();
+        } catch (Exception e) {
+            record(sample, "failure", sendable);
+            // Las filas conservan next_attempt_at: cuando el relay vuelva, siguen siendo las primeras
+            sendable.forEach(outboxEvent -> recordError(outboxEvent, e));
+            long delay = backoff(++brokerFailures);
+            brokerRetryAtMillis = System.currentTimeMillis() + delay;
+            log.error("Error al publicar {} eventos del outbox, se reintenta en {} ms (fallo {}): {}",
+                    sendable.size(), delay, brokerFailures, e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Tiempo de publicación del lote (hasta la confirmación del broker) y eventos por routing key
+     */
+    private void record(Timer.Sample sample, String outcome, List<OutboxEvent> sent) {
+        sample.stop(Timer.builder("reviews.outbox.publish")
+                .description("Publicación de un lote del outbox en RabbitMQ")
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+        for (OutboxEvent outboxEvent : sent) {
+            meterRegistry.counter("reviews.outbox.events",
+                    "routingKey", outboxEvent.getRoutingKey(), "outcome", outcome).increment();
+        }
+    }
+
+    /**
+     * Fila que no se puede deserializar: se reintenta con backoff propio (p. ej. un despliegue
+     * a medias sin la clase del evento) y, tras max-attempts, se aparta para no leerla más
+     */
+    private void markUnreadable(OutboxEvent outboxEvent, Exception e, LocalDateTime now) {
+        recordError(outboxEvent, e);
+        int attempts = outboxEvent.getAttempts();
+        if (attempts >= maxAttempts) {
+            outboxEvent.setParkedAt(now);
+            meterRegistry.counter("reviews.outbox.events",
+                    "routingKey", outboxEvent.getRoutingKey(), "outcome", "parked").increment();
+            log.error("Evento {} del outbox apartado tras {} intentos: {}", outboxEvent.getId(), attempts, e.getMessage());
+            return;
+        }
+        outboxEvent.setNextAttemptAt(now.plusNanos(backoff(attempts) * 1_000_000));
+        log.error("Error al leer evento {} del outbox (intento {}): {}", outboxEvent.getId(), attempts, e.getMessage());
+    }
+
+    private void recordError(OutboxEvent outboxEvent, Exception e) {
+        outboxEvent.setAttempts(outboxEvent.getAttempts() + 1);
+        String message = String.valueOf(e.getMessage());
+        outboxEvent.setLastError(message.length() > 1000 ? message.substring(0, 1000) : message);
+    }
+
+    private long backoff(int attempts) {
+        return Math.min(retryBaseDelayMillis << Math.min(attempts - 1, 20), retryMaxDelayMillis);
+    }
+}
@@ -0,0 +1,97 @@
+package com.iwellness.reviews.publisher;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.iwellness.reviews.entity.RatingChangedPending;
+import com.iwellness.reviews.repository.RatingChangedPendingRepository;
+import com.iwellness.reviews.service.RatingSummaryService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Agrupa los cambios de calificación por entidad y publica un único RatingChanged con el
+ * agregado completo, en lugar de uno por escritura. Cada cambio retrasa la publicación
+ * hasta que la entidad pasa window-ms sin cambios (debounce), con un máximo de max-wait-ms
+ * desde el primer cambio pendiente para que una entidad muy activa también se publique.
+ * Las marcas pendientes se guardan en rating_changed_pending dentro de la transacción de la
+ * escritura, así que sobreviven a una caída de la instancia.
+ */
+@Slf4j
+@Component
+public class RatingChangedCoalescer {
+
+    private final RatingChangedPendingRepository pendingRepository;
+    private final RatingSummaryService ratingSummaryService;
+    private final ReviewEventPublisher reviewEventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final long windowMillis;
+    private final long maxWaitMillis;
+    private final int batchSize;
+
+    public RatingChangedCoalescer(RatingChangedPendingRepository pendingRepository,
+                                  @Lazy RatingSummaryService ratingSummaryService,
+                                  ReviewEventPublisher reviewEventPublisher,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${app.reviews.events.rating-changed.window-ms:2000}") long windowMillis,
+                                  @Value("${app.reviews.events.rating-changed.max-wait-ms:10000}") long maxWaitMillis,
+                                  @Value("${app.reviews.events.rating-changed.batch-size:100}") int batchSize) {
+        this.pendingRepository = pendingRepository;
+        this.ratingSummaryService = ratingSummaryService;
+        this.reviewEventPublisher = reviewEventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.windowMillis = windowMillis;
+        this.maxWaitMillis = maxWaitMillis;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Marca la calificación de una entidad como modificada, en la transacción del llamador:
+     * si se deshace, la marca también
+     */
+    @Transactional
+    public void markChanged(String entityType, Long entityId) {
+        pendingRepository.mark(entityType, entityId, LocalDateTime.now());
+    }
+
+    @Scheduled(fixedDelayString = "${app.reviews.events.rating-changed.flush-interval-ms:500}")
+    public void flush() {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            int published;
+            do {
+                published = flushBatch(now.minus(Duration.ofMillis(windowMillis)), now.minus(Duration.ofMillis(maxWaitMillis)));
+            } while (published == batchSize);
+        } catch (Exception e) {
+            // Las marcas siguen en la tabla: se reintenta en la siguiente pasada
+            log.error("Error al publicar RatingChanged: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Publica un lote de entidades sin cambios desde quietSince o pendientes desde
+     * waitingSince. Los eventos van al outbox y las marcas se borran en la misma transacción.
+     */
+    int flushBatch(LocalDateTime quietSince, LocalDateTime waitingSince) {
+        Integer published = transactionTemplate.execute(status -> {
+            List<RatingChangedPending> due = pendingRepository.findDue(quietSince, waitingSince,
+                    PageRequest.of(0, batchSize));
+            for (RatingChangedPending pending : due) {
+                reviewEventPublisher.publishRatingChanged(
+                        ratingSummaryService.getRating(pending.getEntityType(), pending.getEntityId()));
+            }
+            pendingRepository.deleteAll(due);
+            return due.size();
+        });
+        return published != null ? published : 0;
+    }
+}
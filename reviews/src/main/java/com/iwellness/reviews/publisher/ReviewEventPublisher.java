@@ -1,25 +1,37 @@
 package com.iwellness.reviews.publisher;
 
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iwellness.reviews.dto.RatingDTO;
+import com.iwellness.reviews.entity.OutboxEvent;
 import com.iwellness.reviews.entity.Review;
+import com.iwellness.reviews.event.EntityReviewsPurgedEvent;
 import com.iwellness.reviews.event.RatingChangedEvent;
 import com.iwellness.reviews.event.ReviewCreatedEvent;
 import com.iwellness.reviews.event.ReviewDeletedEvent;
 import com.iwellness.reviews.event.ReviewUpdatedEvent;
+import com.iwellness.reviews.event.ReviewsImportedEvent;
+import com.iwellness.reviews.repository.OutboxEventRepository;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Registra los eventos de reseñas en el outbox dentro de la transacción actual.
+ * {@link OutboxRelay} los publica en RabbitMQ de forma asíncrona, de modo que un
+ * evento solo sale si la transacción se confirma y la petición no espera al broker.
+ */
 @Slf4j
 @Component
+@Timed(value = "reviews.service", histogram = true)
 public class ReviewEventPublisher {
 
-    private final RabbitTemplate rabbitTemplate;
-
-    @Value("${rabbitmq.exchange.name}")
-    private String exchangeName;
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
 
     @Value("${rabbitmq.routing-keys.review-created}")
     private String reviewCreatedRoutingKey;
@@ -33,13 +45,21 @@ public class ReviewEventPublisher {
     @Value("${rabbitmq.routing-keys.rating-changed}")
     private String ratingChangedRoutingKey;
 
-    public ReviewEventPublisher(RabbitTemplate rabbitTemplate) {
-        this.rabbitTemplate = rabbitTemplate;
+    @Value("${rabbitmq.routing-keys.reviews-imported}")
+    private String reviewsImportedRoutingKey;
+
+    @Value("${rabbitmq.routing-keys.reviews-purged}")
+    private String reviewsPurgedRoutingKey;
+
+    public ReviewEventPublisher(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
     }
 
     /**
      * Publica evento de reseña creada
      */
+    @Transactional
     public void publishReviewCreated(Review review) {
         ReviewCreatedEvent event = ReviewCreatedEvent.builder()
                 .reviewId(review.getId())
@@ -50,17 +70,14 @@ public class ReviewEventPublisher {
                 .createdAt(review.getCreatedAt())
                 .build();
 
-        try {
-            rabbitTemplate.convertAndSend(exchangeName, reviewCreatedRoutingKey, event);
-            log.info("Evento publicado: ReviewCreated - Review ID: {}", review.getId());
-        } catch (Exception e) {
-            log.error("Error al publicar evento ReviewCreated: {}", e.getMessage(), e);
-        }
+        enqueue(reviewCreatedRoutingKey, event);
+        log.info("Evento registrado: ReviewCreated - Review ID: {}", review.getId());
     }
 
     /**
      * Publica evento de reseña actualizada
      */
+    @Transactional
     public void publishReviewUpdated(Review review) {
         ReviewUpdatedEvent event = ReviewUpdatedEvent.builder()
                 .reviewId(review.getId())
@@ -71,17 +88,14 @@ public class ReviewEventPublisher {
                 .updatedAt(review.getUpdatedAt())
                 .build();
 
-        try {
-            rabbitTemplate.convertAndSend(exchangeName, reviewUpdatedRoutingKey, event);
-            log.info("Evento publicado: ReviewUpdated - Review ID: {}", review.getId());
-        } catch (Exception e) {
-            log.error("Error al publicar evento ReviewUpdated: {}", e.getMessage(), e);
-        }
+        enqueue(reviewUpdatedRoutingKey, event);
+        log.info("Evento registrado: ReviewUpdated - Review ID: {}", review.getId());
     }
 
     /**
      * Publica evento de reseña eliminada
      */
+    @Transactional
     public void publishReviewDeleted(Long reviewId, Long serviceId, Long userId) {
         ReviewDeletedEvent event = ReviewDeletedEvent.builder()
                 .reviewId(reviewId)
@@ -90,28 +104,68 @@ public class ReviewEventPublisher {
                 .deletedAt(java.time.LocalDateTime.now())
                 .build();
 
-        try {
-            rabbitTemplate.convertAndSend(exchangeName, reviewDeletedRoutingKey, event);
-            log.info("Evento publicado: ReviewDeleted - Review ID: {}", reviewId);
-        } catch (Exception e) {
-            log.error("Error al publicar evento ReviewDeleted: {}", e.getMessage(), e);
-        }
+        enqueue(reviewDeletedRoutingKey, event);
+        log.info("Evento registrado: ReviewDeleted - Review ID: {}", reviewId);
     }
 
     /**
-     * Publica evento de cambio de calificación
+     * Publica evento de cambio de calificación con el agregado completo de la entidad
      */
-    public void publishRatingChanged(Long serviceId) {
+    @Transactional
+    public void publishRatingChanged(RatingDTO rating) {
         RatingChangedEvent event = RatingChangedEvent.builder()
-                .serviceId(serviceId)
+                .serviceId("SERVICE".equals(rating.getEntityType()) ? rating.getEntityId() : null)
+                .entityType(rating.getEntityType())
+                .entityId(rating.getEntityId())
+                .averageRating(rating.getAverageRating())
+                .totalReviews(rating.getTotalReviews())
+                .distribution(rating.getDistribution())
                 .timestamp(java.time.LocalDateTime.now())
                 .build();
 
+        enqueue(ratingChangedRoutingKey, event);
+        log.info("Evento registrado: RatingChanged - {} {}", rating.getEntityType(), rating.getEntityId());
+    }
+
+    /**
+     * Publica un evento por lote de la importación masiva
+     */
+    @Transactional
+    public void publishReviewsImported(ReviewsImportedEvent event) {
+        enqueue(reviewsImportedRoutingKey, event);
+        log.info("Evento registrado: ReviewsImported - {} reseñas de {} entidades",
+                event.getImported(), event.getEntities().size());
+    }
+
+    /**
+     * Publica un evento resumen al terminar el borrado en cascada de una entidad
+     */
+    @Transactional
+    public void publishEntityReviewsPurged(String entityType, Long entityId, long deletedReviews) {
+        EntityReviewsPurgedEvent event = EntityReviewsPurgedEvent.builder()
+                .serviceId("SERVICE".equals(entityType) ? entityId : null)
+                .entityType(entityType)
+                .entityId(entityId)
+                .deletedReviews(deletedReviews)
+                .purgedAt(java.time.LocalDateTime.now())
+                .build();
+
+        enqueue(reviewsPurgedRoutingKey, event);
+        log.info("Evento registrado: EntityReviewsPurged - {} {} ({} reseñas)", entityType, entityId, deletedReviews);
+    }
+
+    private void enqueue(String routingKey, Object event) {
+        String payload;
         try {
-            rabbitTemplate.convertAndSend(exchangeName, ratingChangedRoutingKey, event);
-            log.info("Evento publicado: RatingChanged - Service ID: {}", serviceId);
-        } catch (Exception e) {
-            log.error("Error al publicar evento RatingChanged: {}", e.getMessage(), e);
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el evento " + event.getClass().getSimpleName(), e);
         }
+
+        outboxEventRepository.save(OutboxEvent.builder()
+                .eventType(event.getClass().getName())
+                .routingKey(routingKey)
+                .payload(payload)
+                .build());
     }
 }
@@ -0,0 +1,82 @@
+package com.iwellness.reviews.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.iwellness.reviews.entity.EntityRatingSummary;
+import com.iwellness.reviews.entity.EntityRatingSummaryId;
+import com.iwellness.reviews.model.EntityVersion;
+import com.iwellness.reviews.model.RatingDelta;
+
+public interface EntityRatingSummaryRepository extends JpaRepository<EntityRatingSummary, EntityRatingSummaryId> {
+
+    List<EntityRatingSummary> findByEntityTypeAndEntityIdIn(String entityType, Collection<Long> entityIds);
+
+    // Ranking: ordenado por bayesianScore, servido por idx_entity_rating_summary_leaderboard
+    Page<EntityRatingSummary> findByEntityTypeAndReviewCountGreaterThanEqual(String entityType, long minReviews,
+                                                                             Pageable pageable);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE EntityRatingSummary s SET "
+            + "s.reviewCount = s.reviewCount + :#{#delta.count}, "
+            + "s.ratingSum = s.ratingSum + :#{#delta.sum}, "
+            + "s.oneStar = s.oneStar + :#{#delta.oneStar}, "
+            + "s.twoStars = s.twoStars + :#{#delta.twoStars}, "
+            + "s.threeStars = s.threeStars + :#{#delta.threeStars}, "
+            + "s.fourStars = s.fourStars + :#{#delta.fourStars}, "
+            + "s.fiveStars = s.fiveStars + :#{#delta.fiveStars}, "
+            + "s.bayesianScore = (s.ratingSum + :#{#delta.sum} + :priorWeight * :priorMean) "
+            + "/ (s.reviewCount + :#{#delta.count} + :priorWeight), "
+            + "s.updatedAt = :now, "
+            + "s.version = s.version + 1 "
+            + "WHERE s.entityType = :entityType AND s.entityId = :entityId")
+    int applyDelta(@Param("entityType") String entityType, @Param("entityId") Long entityId,
+                   @Param("delta") RatingDelta delta, @Param("priorWeight") double priorWeight,
+                   @Param("priorMean") double priorMean, @Param("now") LocalDateTime now);
+
+    @Query("SELECT new com.iwellness.reviews.model.EntityVersion(s.version, s.updatedAt) "
+            + "FROM EntityRatingSummary s WHERE s.entityType = :entityType AND s.entityId = :entityId")
+    Optional<EntityVersion> findVersion(@Param("entityType") String entityType, @Param("entityId") Long entityId);
+
+    @Modifying
+    @Query(value = "INSERT INTO entity_rating_summary (entity_type, entity_id, review_count, rating_sum, "
+            + "one_star, two_stars, three_stars, four_stars, five_stars, updated_at, version, bayesian_score) "
+            + "VALUES (:entityType, :entityId, 0, 0, 0, 0, 0, 0, 0, :now, 0, 0) "
+            + "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertEmptyIfAbsent(@Param("entityType") String entityType, @Param("entityId") Long entityId,
+                            @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM EntityRatingSummary s WHERE s.entityType = :entityType AND s.entityId = :entityId")
+    int deleteByEntity(@Param("entityType") String entityType, @Param("entityId") Long entityId);
+
+    // Rebuild: bloquea las escrituras concurrentes y recalcula todo desde la tabla reviews
+    @Modifying
+    @Query(value = "LOCK TABLE entity_rating_summary IN EXCLUSIVE MODE", nativeQuery = true)
+    void lockForRebuild();
+
+    @Modifying
+    @Query(value = "DELETE FROM entity_rating_summary", nativeQuery = true)
+    int deleteAllRows();
+
+    @Modifying
+    @Query(value = "INSERT INTO entity_rating_summary (entity_type, entity_id, review_count, rating_sum, "
+            + "one_star, two_stars, three_stars, four_stars, five_stars, updated_at, version, bayesian_score) "
+            + "SELECT entity_type, entity_id, COUNT(*), SUM(rating), "
+            + "COUNT(*) FILTER (WHERE rating = 1), COUNT(*) FILTER (WHERE rating = 2), "
+            + "COUNT(*) FILTER (WHERE rating = 3), COUNT(*) FILTER (WHERE rating = 4), "
+            + "COUNT(*) FILTER (WHERE rating = 5), :now, 0, "
+            + "(SUM(rating) + :priorWeight * :priorMean) / (COUNT(*) + :priorWeight) "
+            + "FROM reviews GROUP BY entity_type, entity_id", nativeQuery = true)
+    int insertAllFromReviews(@Param("priorWeight") double priorWeight, @Param("priorMean") double priorMean,
+                             @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,95 @@
+package com.iwellness.reviews.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.iwellness.reviews.entity.EntityRatingTrend;
+import com.iwellness.reviews.entity.EntityRatingTrendId;
+import com.iwellness.reviews.model.RatingDelta;
+import com.iwellness.reviews.model.TrendGranularity;
+
+public interface EntityRatingTrendRepository extends JpaRepository<EntityRatingTrend, EntityRatingTrendId> {
+
+    // Serie de una entidad: todos los cubos (de cualquier periodo) que empiezan en el rango
+    @Query("SELECT t FROM EntityRatingTrend t "
+            + "WHERE t.entityType = :entityType AND t.entityId = :entityId "
+            + "AND t.bucketStart >= :from AND t.bucketStart < :to "
+            + "ORDER BY t.bucketStart")
+    List<EntityRatingTrend> findBuckets(@Param("entityType") String entityType, @Param("entityId") Long entityId,
+                                        @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Suma el cambio al cubo indicado (diario, o el semanal/mensual que ya compactó ese día)
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE EntityRatingTrend t SET "
+            + "t.reviewCount = t.reviewCount + :#{#delta.count}, "
+            + "t.ratingSum = t.ratingSum + :#{#delta.sum}, "
+            + "t.oneStar = t.oneStar + :#{#delta.oneStar}, "
+            + "t.twoStars = t.twoStars + :#{#delta.twoStars}, "
+            + "t.threeStars = t.threeStars + :#{#delta.threeStars}, "
+            + "t.fourStars = t.fourStars + :#{#delta.fourStars}, "
+            + "t.fiveStars = t.fiveStars + :#{#delta.fiveStars} "
+            + "WHERE t.entityType = :entityType AND t.entityId = :entityId "
+            + "AND t.granularity = :granularity AND t.bucketStart = :bucketStart")
+    int applyDelta(@Param("entityType") String entityType, @Param("entityId") Long entityId,
+                   @Param("granularity") TrendGranularity granularity, @Param("bucketStart") LocalDate bucketStart,
+                   @Param("delta") RatingDelta delta);
+
+    @Modifying
+    @Query(value = "INSERT INTO entity_rating_trend (entity_type, entity_id, granularity, bucket_start, review_count, "
+            + "rating_sum, one_star, two_stars, three_stars, four_stars, five_stars) "
+            + "VALUES (:entityType, :entityId, 'DAY', :day, 0, 0, 0, 0, 0, 0, 0) "
+            + "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertEmptyDayIfAbsent(@Param("entityType") String entityType, @Param("entityId") Long entityId,
+                               @Param("day") LocalDate day);
+
+    @Modifying
+    @Query("DELETE FROM EntityRatingTrend t WHERE t.entityType = :entityType AND t.entityId = :entityId")
+    int deleteByEntity(@Param("entityType") String entityType, @Param("entityId") Long entityId);
+
+    // Compactación: borra los cubos de origen y suma sus contadores en el cubo destino en una sola
+    // sentencia, así una escritura concurrente en un cubo de origen no se pierde
+    @Modifying
+    @Query(value = "WITH moved AS ("
+            + "DELETE FROM entity_rating_trend WHERE granularity = 'DAY' AND bucket_start < :before RETURNING *) "
+            + "INSERT INTO entity_rating_trend (entity_type, entity_id, granularity, bucket_start, review_count, "
+            + "rating_sum, one_star, two_stars, three_stars, four_stars, five_stars) "
+            + "SELECT entity_type, entity_id, 'WEEK', "
+            // Semanas recortadas al mes: así se pueden compactar después en meses sin repartir contadores
+            + "CAST(GREATEST(date_trunc('week', bucket_start), date_trunc('month', bucket_start)) AS DATE), "
+            + "SUM(review_count), SUM(rating_sum), SUM(one_star), SUM(two_stars), SUM(three_stars), "
+            + "SUM(four_stars), SUM(five_stars) "
+            + "FROM moved GROUP BY 1, 2, 3, 4 "
+            + "ON CONFLICT (entity_type, entity_id, granularity, bucket_start) DO UPDATE SET "
+            + "review_count = entity_rating_trend.review_count + EXCLUDED.review_count, "
+            + "rating_sum = entity_rating_trend.rating_sum + EXCLUDED.rating_sum, "
+            + "one_star = entity_rating_trend.one_star + EXCLUDED.one_star, "
+            + "two_stars = entity_rating_trend.two_stars + EXCLUDED.two_stars, "
+            + "three_stars = entity_rating_trend.three_stars + EXCLUDED.three_stars, "
+            + "four_stars = entity_rating_trend.four_stars + EXCLUDED.four_stars, "
+            + "five_stars = entity_rating_trend.five_stars + EXCLUDED.five_stars", nativeQuery = true)
+    int compactDaysIntoWeeks(@Param("before") LocalDate before);
+
+    @Modifying
+    @Query(value = "WITH moved AS ("
+            + "DELETE FROM entity_rating_trend WHERE granularity <> 'MONTH' AND bucket_start < :before RETURNING *) "
+            + "INSERT INTO entity_rating_trend (entity_type, entity_id, granularity, bucket_start, review_count, "
+            + "rating_sum, one_star, two_stars, three_stars, four_stars, five_stars) "
+            + "SELECT entity_type, entity_id, 'MONTH', CAST(date_trunc('month', bucket_start) AS DATE), "
+            + "SUM(review_count), SUM(rating_sum), SUM(one_star), SUM(two_stars), SUM(three_stars), "
+            + "SUM(four_stars), SUM(five_stars) "
+            + "FROM moved GROUP BY 1, 2, 3, 4 "
+            + "ON CONFLICT (entity_type, entity_id, granularity, bucket_start) DO UPDATE SET "
+            + "review_count = entity_rating_trend.review_count + EXCLUDED.review_count, "
+            + "rating_sum = entity_rating_trend.rating_sum + EXCLUDED.rating_sum, "
+            + "one_star = entity_rating_trend.one_star + EXCLUDED.one_star, "
+            + "two_stars = entity_rating_trend.two_stars + EXCLUDED.two_stars, "
+            + "three_stars = entity_rating_trend.three_stars + EXCLUDED.three_stars, "
+            + "four_stars = entity_rating_trend.four_stars + EXCLUDED.four_stars, "
+            + "five_stars = entity_rating_trend.five_stars + EXCLUDED.five_stars", nativeQuery = true)
+    int compactIntoMonths(@Param("before") LocalDate before);
+}
@@ -0,0 +1,59 @@
+package com.iwellness.reviews.repository;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Indica si la tabla reviews tiene la columna comment_tsv (migración V8, solo PostgreSQL).
+ * Sin ella (H2 o esquema generado por Hibernate) la búsqueda usa LIKE sobre el comentario.
+ * Se comprueba en el primer uso para no adelantarse a Flyway. Si la comprobación falla (p. ej. la base de
+ * datos no responde) se usa LIKE en esa petición y se vuelve a comprobar en la siguiente.
+ */
+@Slf4j
+@Component
+public class FullTextSearchSupport {
+
+    private final DataSource dataSource;
+    private volatile Boolean available;
+
+    public FullTextSearchSupport(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public boolean isAvailable() {
+        Boolean result = available;
+        if (result == null) {
+            result = detect();
+            if (result == null) {
+                return false;
+            }
+            available = result;
+            log.info("Búsqueda de texto completo en comentarios: {}", result ? "tsvector + GIN" : "LIKE (sin índice)");
+        }
+        return result;
+    }
+
+    // null si no se pudo comprobar: no se guarda para no quedarse con LIKE por un fallo transitorio
+    private Boolean detect() {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            if (!"PostgreSQL".equals(metaData.getDatabaseProductName())) {
+                return false;
+            }
+            try (ResultSet columns = metaData.getColumns(null, null, "reviews", "comment_tsv")) {
+                return columns.next();
+            }
+        } catch (SQLException e) {
+            log.warn("No se pudo comprobar la columna comment_tsv, se reintentará: {}", e.getMessage());
+            return null;
+        }
+    }
+}
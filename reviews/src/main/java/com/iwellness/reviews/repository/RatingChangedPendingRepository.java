@@ -0,0 +1,40 @@
+package com.iwellness.reviews.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import com.iwellness.reviews.entity.EntityRatingSummaryId;
+import com.iwellness.reviews.entity.RatingChangedPending;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+public interface RatingChangedPendingRepository extends JpaRepository<RatingChangedPending, EntityRatingSummaryId> {
+
+    // Cada cambio retrasa la publicación (last_marked_at); first_marked_at se conserva para el límite max-wait
+    @Modifying
+    @Query(value = "INSERT INTO rating_changed_pending (entity_type, entity_id, first_marked_at, last_marked_at) "
+            + "VALUES (:entityType, :entityId, :now, :now) "
+            + "ON CONFLICT (entity_type, entity_id) DO UPDATE SET last_marked_at = EXCLUDED.last_marked_at",
+            nativeQuery = true)
+    int mark(@Param("entityType") String entityType, @Param("entityId") Long entityId,
+             @Param("now") LocalDateTime now);
+
+    // FOR UPDATE SKIP LOCKED (timeout -2): varias instancias pueden publicar sin pisarse
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT p FROM RatingChangedPending p "
+            + "WHERE p.lastMarkedAt <= :quietSince OR p.firstMarkedAt <= :waitingSince "
+            + "ORDER BY p.firstMarkedAt")
+    List<RatingChangedPending> findDue(@Param("quietSince") LocalDateTime quietSince,
+                                       @Param("waitingSince") LocalDateTime waitingSince,
+                                       Pageable pageable);
+}
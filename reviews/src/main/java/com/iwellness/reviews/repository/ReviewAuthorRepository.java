@@ -0,0 +1,36 @@
+package com.iwellness.reviews.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.iwellness.reviews.entity.ReviewAuthor;
+
+public interface ReviewAuthorRepository extends JpaRepository<ReviewAuthor, Long> {
+
+    // Las escrituras solo sustituyen una copia más antigua: un perfil o evento que llega tarde no pisa uno posterior
+    @Modifying
+    @Query(value = "INSERT INTO review_authors (user_id, nombre, apellido, foto, updated_at) "
+            + "VALUES (:userId, :nombre, :apellido, :foto, :now) "
+            + "ON CONFLICT (user_id) DO UPDATE SET nombre = EXCLUDED.nombre, apellido = EXCLUDED.apellido, "
+            + "foto = EXCLUDED.foto, updated_at = EXCLUDED.updated_at "
+            + "WHERE review_authors.updated_at < EXCLUDED.updated_at", nativeQuery = true)
+    int upsert(@Param("userId") Long userId, @Param("nombre") String nombre, @Param("apellido") String apellido,
+               @Param("foto") String foto, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE ReviewAuthor a SET a.nombre = :nombre, a.apellido = :apellido, a.foto = :foto, "
+            + "a.updatedAt = :updatedAt WHERE a.userId = :userId AND a.updatedAt < :updatedAt")
+    int updateIfNewer(@Param("userId") Long userId, @Param("nombre") String nombre, @Param("apellido") String apellido,
+                      @Param("foto") String foto, @Param("updatedAt") LocalDateTime updatedAt);
+
+    // Relleno: autores con reseñas y sin copia local, por orden de user_id (idx_reviews_user_id)
+    @Query(value = "SELECT DISTINCT r.user_id FROM reviews r WHERE r.user_id > :afterUserId "
+            + "AND NOT EXISTS (SELECT 1 FROM review_authors a WHERE a.user_id = r.user_id) "
+            + "ORDER BY r.user_id LIMIT :limit", nativeQuery = true)
+    List<Long> findUserIdsWithoutSnapshot(@Param("afterUserId") long afterUserId, @Param("limit") int limit);
+}
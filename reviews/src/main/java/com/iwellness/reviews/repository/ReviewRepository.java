@@ -1,14 +1,24 @@
 package com.iwellness.reviews.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import com.iwellness.reviews.entity.Review;
+import com.iwellness.reviews.model.ReviewKey;
+import com.iwellness.reviews.model.ReviewView;
+
+import jakarta.persistence.QueryHint;
 
 public interface ReviewRepository extends JpaRepository<Review, Long> {
     
@@ -24,9 +34,78 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     
     Long countByEntityTypeAndEntityIdAndRating(String entityType, Long entityId, Integer rating);
     
-    @Query("SELECT r FROM Review r WHERE r.entityType = :entityType AND r.entityId = :entityId ORDER BY r.createdAt DESC")
-    List<Review> findRecentByEntity(@Param("entityType") String entityType, 
-                                   @Param("entityId") Long entityId, Pageable pageable);
+    // Lecturas por proyección (ReviewView): solo las columnas de la respuesta, sin entidades gestionadas.
+    // Filtro y orden servidos por idx_reviews_entity_covering (V12)
+    String VIEW_SELECT = "SELECT new com.iwellness.reviews.model.ReviewView(r.id, r.entityType, r.entityId, "
+            + "r.userId, r.rating, r.comment, r.createdAt, r.updatedAt) FROM Review r ";
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(VIEW_SELECT + "WHERE r.id = :id")
+    Optional<ReviewView> findViewById(@Param("id") Long id);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(value = VIEW_SELECT + "WHERE r.entityType = :entityType AND r.entityId = :entityId",
+            countQuery = "SELECT COUNT(r) FROM Review r WHERE r.entityType = :entityType AND r.entityId = :entityId")
+    Page<ReviewView> findViewsByEntity(@Param("entityType") String entityType, @Param("entityId") Long entityId,
+                                       Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(VIEW_SELECT + "WHERE r.entityType = :entityType AND r.entityId = :entityId "
+            + "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReviewView> findRecentByEntity(@Param("entityType") String entityType,
+                                        @Param("entityId") Long entityId, Pageable pageable);
+
+    // Keyset pagination: (createdAt, id) descending, served by idx_reviews_entity_covering
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(VIEW_SELECT + "WHERE r.entityType = :entityType AND r.entityId = :entityId "
+            + "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReviewView> findFirstByEntityOrderByCreatedAtDesc(@Param("entityType") String entityType,
+                                                          @Param("entityId") Long entityId, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(VIEW_SELECT + "WHERE r.entityType = :entityType AND r.entityId = :entityId "
+            + "AND r.createdAt <= :createdAt AND (r.createdAt < :createdAt OR r.id < :id) "
+            + "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReviewView> findByEntityBeforeCursor(@Param("entityType") String entityType, @Param("entityId") Long entityId,
+                                              @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                              Pageable pageable);
+
+    // Borrado en cascada de una entidad eliminada, por bloques (idx_reviews_entity_covering).
+    // El filtro externo por entidad permite descartar particiones (V11)
+    @Modifying
+    @Query(value = "DELETE FROM reviews WHERE entity_type = :entityType AND entity_id = :entityId AND id IN ("
+            + "SELECT id FROM reviews WHERE entity_type = :entityType AND entity_id = :entityId LIMIT :limit)",
+            nativeQuery = true)
+    int deleteChunkByEntity(@Param("entityType") String entityType, @Param("entityId") Long entityId,
+                            @Param("limit") int limit);
+
+    // Importación masiva: claves existentes de un lote (superconjunto, se filtra en memoria).
+    // El filtro por entityType permite descartar particiones (V11)
+    @Query("SELECT new com.iwellness.reviews.model.ReviewKey(r.entityType, r.entityId, r.userId) FROM Review r "
+            + "WHERE r.entityType IN :entityTypes AND r.entityId IN :entityIds AND r.userId IN :userIds")
+    List<ReviewKey> findKeysByEntityTypeInAndEntityIdInAndUserIdIn(@Param("entityTypes") Collection<String> entityTypes,
+                                                                  @Param("entityIds") Collection<Long> entityIds,
+                                                                  @Param("userIds") Collection<Long> userIds);
+
+    // Búsqueda de texto completo (PostgreSQL, V8): ordenada por relevancia
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(value = "SELECT r.* FROM reviews r, websearch_to_tsquery('spanish', :query) q "
+            + "WHERE r.entity_type = :entityType AND r.entity_id = :entityId AND r.comment_tsv @@ q "
+            + "ORDER BY ts_rank(r.comment_tsv, q) DESC, r.id DESC",
+            countQuery = "SELECT COUNT(*) FROM reviews r "
+            + "WHERE r.entity_type = :entityType AND r.entity_id = :entityId "
+            + "AND r.comment_tsv @@ websearch_to_tsquery('spanish', :query)",
+            nativeQuery = true)
+    Page<Review> searchByEntityFullText(@Param("entityType") String entityType, @Param("entityId") Long entityId,
+                                        @Param("query") String query, Pageable pageable);
+
+    // Alternativa sin tsvector (H2): LIKE sin índice, más recientes primero
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT r FROM Review r WHERE r.entityType = :entityType AND r.entityId = :entityId "
+            + "AND LOWER(r.comment) LIKE LOWER(CONCAT('%', :query, '%')) ESCAPE '\\' "
+            + "ORDER BY r.createdAt DESC, r.id DESC")
+    Page<Review> searchByEntityLike(@Param("entityType") String entityType, @Param("entityId") Long entityId,
+                                    @Param("query") String query, Pageable pageable);
     
     // Keep user-specific methods
     Page<Review> findByUserId(Long userId, Pageable pageable);
@@ -0,0 +1,195 @@
+package com.iwellness.reviews.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.iwellness.reviews.dto.EntityReferenceDTO;
+import com.iwellness.reviews.dto.LeaderboardEntryDTO;
+import com.iwellness.reviews.dto.RatingDTO;
+import com.iwellness.reviews.entity.EntityRatingSummary;
+import com.iwellness.reviews.entity.EntityRatingSummaryId;
+import com.iwellness.reviews.model.EntityVersion;
+import com.iwellness.reviews.model.RatingDelta;
+import com.iwellness.reviews.publisher.RatingChangedCoalescer;
+import com.iwellness.reviews.repository.EntityRatingSummaryRepository;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maintains the per-entity rating counters in entity_rating_summary so rating reads
+ * are a single-row lookup instead of aggregates over reviews. Each row also carries a
+ * Bayesian average, (sum + C * m) / (count + C), that ranks the leaderboard: entities
+ * with few reviews are pulled towards the prior mean m until they collect more than
+ * about C reviews.
+ */
+@Slf4j
+@Service
+@Timed(value = "reviews.service", histogram = true)
+public class RatingSummaryService {
+
+    private final EntityRatingSummaryRepository summaryRepository;
+    private final RatingChangedCoalescer ratingChangedCoalescer;
+
+    // Cambiar C o m solo afecta a las filas que se escriban después; el rebuild recalcula todas
+    @Value("${app.reviews.leaderboard.prior-weight:10}")
+    private double priorWeight;
+
+    @Value("${app.reviews.leaderboard.prior-mean:3.0}")
+    private double priorMean;
+
+    @Value("${app.reviews.leaderboard.min-reviews:1}")
+    private long minReviews;
+
+    public RatingSummaryService(EntityRatingSummaryRepository summaryRepository,
+                                RatingChangedCoalescer ratingChangedCoalescer) {
+        this.summaryRepository = summaryRepository;
+        this.ratingChangedCoalescer = ratingChangedCoalescer;
+    }
+
+    /**
+     * Apply a rating change to the entity counters, inside the caller's transaction.
+     * A pending RatingChanged is recorded in the same transaction.
+     */
+    @Transactional
+    public void applyDelta(String entityType, Long entityId, RatingDelta delta) {
+        LocalDateTime now = LocalDateTime.now();
+        if (summaryRepository.applyDelta(entityType, entityId, delta, priorWeight, priorMean, now) == 0) {
+            summaryRepository.insertEmptyIfAbsent(entityType, entityId, now);
+            summaryRepository.applyDelta(entityType, entityId, delta, priorWeight, priorMean, now);
+        }
+        if (!delta.isEmpty()) {
+            ratingChangedCoalescer.markChanged(entityType, entityId);
+        }
+    }
+
+    /**
+     * Drop the summary row of an entity whose reviews were all removed, inside the
+     * caller's transaction
+     */
+    @Transactional
+    public void remove(String entityType, Long entityId) {
+        summaryRepository.deleteByEntity(entityType, entityId);
+    }
+
+    /**
+     * Read the rating of an entity from its summary row
+     */
+    @Transactional(readOnly = true)
+    public RatingDTO getRating(String entityType, Long entityId) {
+        return summaryRepository.findById(new EntityRatingSummaryId(entityType, entityId))
+                .map(this::toRatingDTO)
+                .orElseGet(() -> emptyRating(entityType, entityId));
+    }
+
+    /**
+     * Read the version stamp of an entity without loading its counters
+     */
+    @Transactional(readOnly = true)
+    public EntityVersion getVersion(String entityType, Long entityId) {
+        return summaryRepository.findVersion(entityType, entityId).orElse(EntityVersion.NONE);
+    }
+
+    /**
+     * Read the ratings of many entities with one query per entity type, in request order
+     */
+    @Transactional(readOnly = true)
+    public List<RatingDTO> getRatings(List<EntityReferenceDTO> entities) {
+        Map<String, Set<Long>> idsByType = new LinkedHashMap<>();
+        for (EntityReferenceDTO entity : entities) {
+            idsByType.computeIfAbsent(entity.getEntityType().toString(), type -> new LinkedHashSet<>())
+                    .add(entity.getEntityId());
+        }
+
+        Map<EntityRatingSummaryId, EntityRatingSummary> summaries = new HashMap<>();
+        idsByType.forEach((entityType, entityIds) ->
+                summaryRepository.findByEntityTypeAndEntityIdIn(entityType, entityIds)
+                        .forEach(summary -> summaries.put(
+                                new EntityRatingSummaryId(summary.getEntityType(), summary.getEntityId()), summary)));
+
+        return entities.stream()
+                .map(entity -> {
+                    String entityType = entity.getEntityType().toString();
+                    EntityRatingSummary summary = summaries.get(new EntityRatingSummaryId(entityType, entity.getEntityId()));
+                    return summary != null ? toRatingDTO(summary) : emptyRating(entityType, entity.getEntityId());
+                })
+                .toList();
+    }
+
+    /**
+     * Read one page of the entities of a type ranked by Bayesian average, best first.
+     * Entities with fewer than app.reviews.leaderboard.min-reviews reviews are left out.
+     */
+    @Transactional(readOnly = true)
+    public Page<LeaderboardEntryDTO> getLeaderboard(String entityType, int page, int size) {
+        PageRequest pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "bayesianScore")
+                .and(Sort.by(Sort.Direction.ASC, "entityId")));
+        Page<EntityRatingSummary> summaries = summaryRepository.findByEntityTypeAndReviewCountGreaterThanEqual(
+                entityType, Math.max(minReviews, 1), pageable);
+
+        List<LeaderboardEntryDTO> entries = new ArrayList<>(summaries.getNumberOfElements());
+        for (EntityRatingSummary summary : summaries) {
+            entries.add(LeaderboardEntryDTO.builder()
+                    .rank(pageable.getOffset() + entries.size() + 1)
+                    .entityType(summary.getEntityType())
+                    .entityId(summary.getEntityId())
+                    .score(summary.getBayesianScore())
+                    .averageRating((double) summary.getRatingSum() / summary.getReviewCount())
+                    .totalReviews(summary.getReviewCount())
+                    .build());
+        }
+        return new PageImpl<>(entries, pageable, summaries.getTotalElements());
+    }
+
+    /**
+     * Recompute every summary row from the reviews table
+     */
+    @Transactional
+    public int rebuild() {
+        summaryRepository.lockForRebuild();
+        summaryRepository.deleteAllRows();
+        int rows = summaryRepository.insertAllFromReviews(priorWeight, priorMean, LocalDateTime.now());
+        log.info("Rating summary rebuilt for {} entities", rows);
+        return rows;
+    }
+
+    RatingDTO toRatingDTO(EntityRatingSummary summary) {
+        RatingDTO.RatingDistribution distribution = RatingDTO.RatingDistribution.builder()
+                .fiveStars(summary.getFiveStars())
+                .fourStars(summary.getFourStars())
+                .threeStars(summary.getThreeStars())
+                .twoStars(summary.getTwoStars())
+                .oneStar(summary.getOneStar())
+                .build();
+
+        long totalReviews = summary.getReviewCount();
+        return RatingDTO.builder()
+                .entityId(summary.getEntityId())
+                .entityType(summary.getEntityType())
+                .averageRating(totalReviews > 0 ? (double) summary.getRatingSum() / totalReviews : 0.0)
+                .totalReviews(totalReviews)
+                .distribution(distribution)
+                .build();
+    }
+
+    RatingDTO emptyRating(String entityType, Long entityId) {
+        return toRatingDTO(EntityRatingSummary.builder()
+                .entityType(entityType)
+                .entityId(entityId)
+                .build());
+    }
+}
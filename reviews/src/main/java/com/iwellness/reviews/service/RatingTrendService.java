@@ -0,0 +1,192 @@
+package com.iwellness.reviews.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.iwellness.reviews.dto.RatingDTO;
+import com.iwellness.reviews.dto.RatingTrendDTO;
+import com.iwellness.reviews.entity.EntityRatingTrend;
+import com.iwellness.reviews.model.RatingDelta;
+import com.iwellness.reviews.model.TrendGranularity;
+import com.iwellness.reviews.repository.EntityRatingTrendRepository;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maintains the per-entity rating trend buckets in entity_rating_trend. Writes touch the
+ * daily bucket of the review's creation date, or the weekly or monthly bucket that already
+ * holds that day once it has been compacted; compaction folds old days into weeks and old
+ * weeks into months, so a series over any range reads a bounded number of bucket rows
+ * instead of the reviews themselves.
+ */
+@Slf4j
+@Service
+@Timed(value = "reviews.service", histogram = true)
+public class RatingTrendService {
+
+    private final EntityRatingTrendRepository trendRepository;
+
+    @Value("${app.reviews.trends.daily-retention-days:90}")
+    private int dailyRetentionDays;
+
+    @Value("${app.reviews.trends.weekly-retention-days:730}")
+    private int weeklyRetentionDays;
+
+    public RatingTrendService(EntityRatingTrendRepository trendRepository) {
+        this.trendRepository = trendRepository;
+    }
+
+    /**
+     * Apply a rating change to the bucket that holds the review's creation date, inside the
+     * caller's transaction. A day already compacted gets the change in its week or month:
+     * a new daily bucket there would hold only the delta, often a negative count.
+     */
+    @Transactional
+    public void applyDelta(String entityType, Long entityId, LocalDateTime reviewCreatedAt, RatingDelta delta) {
+        if (delta.isEmpty()) {
+            return;
+        }
+        LocalDate day = reviewCreatedAt.toLocalDate();
+        for (TrendGranularity granularity : TrendGranularity.values()) {
+            if (trendRepository.applyDelta(entityType, entityId, granularity,
+                    granularity.storedBucketStart(day), delta) > 0) {
+                return;
+            }
+        }
+        trendRepository.insertEmptyDayIfAbsent(entityType, entityId, day);
+        trendRepository.applyDelta(entityType, entityId, TrendGranularity.DAY, day, delta);
+    }
+
+    /**
+     * Drop every trend bucket of an entity whose reviews were all removed, inside the
+     * caller's transaction
+     */
+    @Transactional
+    public void remove(String entityType, Long entityId) {
+        trendRepository.deleteByEntity(entityType, entityId);
+    }
+
+    /**
+     * Read the rating series of an entity between from (inclusive) and to (exclusive),
+     * one point per period with reviews. Periods already compacted to a coarser
+     * granularity are returned as a single point of that granularity, together with any
+     * finer bucket written for them after compaction.
+     */
+    @Transactional(readOnly = true)
+    public RatingTrendDTO getTrend(String entityType, Long entityId, LocalDate from, LocalDate to,
+                                   TrendGranularity granularity) {
+        // Desde el inicio del mes para incluir los cubos compactados que empiezan antes de from
+        List<EntityRatingTrend> buckets = trendRepository.findBuckets(entityType, entityId,
+                TrendGranularity.MONTH.bucketStart(from), to);
+
+        Map<TrendGranularity, Set<LocalDate>> stored = new EnumMap<>(TrendGranularity.class);
+        buckets.forEach(bucket -> stored.computeIfAbsent(bucket.getGranularity(), key -> new HashSet<>())
+                .add(bucket.getBucketStart()));
+
+        Map<LocalDate, Accumulator> points = new TreeMap<>();
+        for (EntityRatingTrend bucket : buckets) {
+            TrendGranularity target = granularity.coarsest(compactedGranularity(bucket, stored));
+            LocalDate start = target.bucketStart(bucket.getBucketStart());
+            if (!target.bucketEnd(start).isAfter(from)) {
+                continue;
+            }
+            points.computeIfAbsent(start, key -> new Accumulator(target)).add(bucket);
+        }
+
+        return RatingTrendDTO.builder()
+                .entityType(entityType)
+                .entityId(entityId)
+                .granularity(granularity.toString())
+                .from(from)
+                .to(to)
+                .points(points.entrySet().stream()
+                        .filter(point -> point.getValue().reviewCount > 0)
+                        .map(point -> point.getValue().toPoint(point.getKey()))
+                        .toList())
+                .build();
+    }
+
+    /**
+     * Coarsest stored granularity that covers the bucket's period: a daily or weekly bucket
+     * written after its period was compacted belongs to the compacted point
+     */
+    private static TrendGranularity compactedGranularity(EntityRatingTrend bucket,
+                                                         Map<TrendGranularity, Set<LocalDate>> stored) {
+        for (int i = TrendGranularity.values().length - 1; i >= 0; i--) {
+            TrendGranularity coarser = TrendGranularity.values()[i];
+            if (coarser.compareTo(bucket.getGranularity()) <= 0) {
+                break;
+            }
+            if (stored.getOrDefault(coarser, Set.of()).contains(coarser.storedBucketStart(bucket.getBucketStart()))) {
+                return coarser;
+            }
+        }
+        return bucket.getGranularity();
+    }
+
+    /**
+     * Fold daily buckets older than the daily retention into weeks, and daily or weekly
+     * buckets older than the weekly retention into months. Only whole periods are folded.
+     */
+    @Transactional
+    public void compact() {
+        LocalDate today = LocalDate.now();
+        LocalDate weeksBefore = TrendGranularity.WEEK.bucketStart(today.minusDays(dailyRetentionDays));
+        LocalDate monthsBefore = TrendGranularity.MONTH.bucketStart(today.minusDays(weeklyRetentionDays));
+        int weeks = trendRepository.compactDaysIntoWeeks(weeksBefore);
+        int months = trendRepository.compactIntoMonths(monthsBefore);
+        log.info("Rating trends compacted: {} weekly and {} monthly buckets written", weeks, months);
+    }
+
+    private static class Accumulator {
+        private final TrendGranularity granularity;
+        private long reviewCount;
+        private long ratingSum;
+        private long oneStar;
+        private long twoStars;
+        private long threeStars;
+        private long fourStars;
+        private long fiveStars;
+
+        Accumulator(TrendGranularity granularity) {
+            this.granularity = granularity;
+        }
+
+        void add(EntityRatingTrend bucket) {
+            reviewCount += bucket.getReviewCount();
+            ratingSum += bucket.getRatingSum();
+            oneStar += bucket.getOneStar();
+            twoStars += bucket.getTwoStars();
+            threeStars += bucket.getThreeStars();
+            fourStars += bucket.getFourStars();
+            fiveStars += bucket.getFiveStars();
+        }
+
+        RatingTrendDTO.TrendPoint toPoint(LocalDate bucketStart) {
+            return RatingTrendDTO.TrendPoint.builder()
+                    .bucketStart(bucketStart)
+                    .granularity(granularity.toString())
+                    .averageRating((double) ratingSum / reviewCount)
+                    .totalReviews(reviewCount)
+                    .distribution(RatingDTO.RatingDistribution.builder()
+                            .fiveStars(fiveStars)
+                            .fourStars(fourStars)
+                            .threeStars(threeStars)
+                            .twoStars(twoStars)
+                            .oneStar(oneStar)
+                            .build())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.iwellness.reviews.service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.iwellness.reviews.dto.UsuarioDTO;
+import com.iwellness.reviews.entity.ReviewAuthor;
+import com.iwellness.reviews.event.UserProfileUpdatedEvent;
+import com.iwellness.reviews.repository.ReviewAuthorRepository;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps a local copy of the public profile of every review author in review_authors, so
+ * rendering reviews does not call admin-users-service. Copies are written when a review is
+ * created or imported, refreshed by user-profile-updated events and filled in for older
+ * reviews by the backfill job. An author still without a copy when rendered (the backfill
+ * has not reached them, or the users service was down when they wrote) is shown from the
+ * profile cache if present, and is looked up and stored in the background once the
+ * reading transaction has ended, so reads never wait on the users service or take a
+ * second connection.
+ */
+@Slf4j
+@Service
+@Timed(value = "reviews.service", histogram = true)
+public class ReviewAuthorService {
+
+    private final ReviewAuthorRepository authorRepository;
+    private final UserProfileService userProfileService;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
+    // Autores que ya se están copiando en segundo plano, para no repetir la consulta
+    private final Set<Long> pendingAuthors = ConcurrentHashMap.newKeySet();
+
+    @Value("${app.reviews.authors.backfill-batch-size:200}")
+    private int backfillBatchSize;
+
+    public ReviewAuthorService(ReviewAuthorRepository authorRepository,
+                               UserProfileService userProfileService,
+                               TransactionTemplate transactionTemplate,
+                               @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor) {
+        this.authorRepository = authorRepository;
+        this.userProfileService = userProfileService;
+        this.taskExecutor = taskExecutor;
+        // Transacción propia: las copias se guardan también desde tareas en segundo plano y desde el backfill
+        this.transactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Copy the current profile of the author of a review being written, inside the
+     * caller's transaction. When the profile cannot be fetched the stored copy is kept.
+     * The copy is dated when the profile was fetched, which is earlier than now when it
+     * comes from the profile cache, so it never overrides a newer profile update.
+     */
+    @Transactional
+    public UsuarioDTO snapshot(Long userId) {
+        UsuarioDTO user = userProfileService.findById(userId);
+        if (user == null) {
+            return authorRepository.findById(userId)
+                    .map(ReviewAuthorService::toUsuarioDTO)
+                    .orElse(null);
+        }
+        authorRepository.upsert(userId, user.getNombre(), user.getApellido(), user.getFoto(),
+                fetchedAt(user, LocalDateTime.now()));
+        return user;
+    }
+
+    /**
+     * Copy the profiles of the given authors that have no local copy yet, with one bulk
+     * lookup; e.g. after a bulk import. Returns how many copies were written.
+     */
+    public int snapshotMissing(Collection<Long> userIds) {
+        Set<Long> missing = new LinkedHashSet<>(userIds);
+        missing.remove(null);
+        authorRepository.findAllById(missing).forEach(author -> missing.remove(author.getUserId()));
+        if (missing.isEmpty()) {
+            return 0;
+        }
+        return store(userProfileService.findByIds(missing));
+    }
+
+    /**
+     * Apply a batch of profile updates in one transaction; the newest event of each user wins,
+     * and only over a stored copy older than it, so an event delivered late does not undo a
+     * newer profile. Events without updatedAt count as changes made when they are received.
+     * Users without a local copy have no reviews (or are still pending the backfill, which
+     * reads the current profile anyway) and are skipped. The profile cache of every instance
+     * is evicted separately (UserProfileListener), since only one instance gets each batch.
+     */
+    @Transactional
+    public int refresh(List<UserProfileUpdatedEvent> events) {
+        LocalDateTime receivedAt = LocalDateTime.now();
+        Map<Long, UserProfileUpdatedEvent> latest = new LinkedHashMap<>();
+        for (UserProfileUpdatedEvent event : events) {
+            if (event == null || event.getId() == null) {
+                continue;
+            }
+            UserProfileUpdatedEvent previous = latest.get(event.getId());
+            if (previous == null || !changedAt(event, receivedAt).isBefore(changedAt(previous, receivedAt))) {
+                latest.put(event.getId(), event);
+            }
+        }
+        if (latest.isEmpty()) {
+            return 0;
+        }
+
+        int refreshed = 0;
+        for (UserProfileUpdatedEvent event : latest.values()) {
+            refreshed += authorRepository.updateIfNewer(event.getId(), event.getNombre(), event.getApellido(),
+                    event.getFoto(), changedAt(event, receivedAt));
+        }
+        return refreshed;
+    }
+
+    /**
+     * Copy the profiles of every author with reviews and no local copy, in batches of
+     * backfill-batch-size users. Users the users service did not return are left for the
+     * next run.
+     */
+    public void backfill() {
+        long afterUserId = 0L;
+        int snapshotted = 0;
+        List<Long> userIds;
+        do {
+            userIds = authorRepository.findUserIdsWithoutSnapshot(afterUserId, backfillBatchSize);
+            if (userIds.isEmpty()) {
+                break;
+            }
+            snapshotted += store(userProfileService.findByIds(userIds));
+            afterUserId = userIds.get(userIds.size() - 1);
+        } while (userIds.size() == backfillBatchSize);
+        log.info("Review author backfill finished: {} profiles copied", snapshotted);
+    }
+
+    /**
+     * Read the stored profiles of a page of authors with a single query. Authors without a
+     * copy are taken from the profile cache when present (otherwise they are absent from
+     * the result) and copied in the background after the current transaction ends.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, UsuarioDTO> findByUserIds(Collection<Long> userIds) {
+        Set<Long> missing = new LinkedHashSet<>(userIds);
+        missing.remove(null);
+        Map<Long, UsuarioDTO> users = new HashMap<>();
+        authorRepository.findAllById(missing).forEach(author -> {
+            users.put(author.getUserId(), toUsuarioDTO(author));
+            missing.remove(author.getUserId());
+        });
+        if (!missing.isEmpty()) {
+            users.putAll(userProfileService.findCached(missing));
+            storeAfterTransaction(missing);
+        }
+        return users;
+    }
+
+    /**
+     * Read the stored profile of one author, or null when it has no copy yet and is not cached
+     */
+    @Transactional(readOnly = true)
+    public UsuarioDTO findByUserId(Long userId) {
+        if (userId == null) {
+            return null;
+        }
+        return findByUserIds(List.of(userId)).get(userId);
+    }
+
+    private void storeAfterTransaction(Set<Long> userIds) {
+        Set<Long> claimed = new LinkedHashSet<>();
+        userIds.forEach(userId -> {
+            if (pendingAuthors.add(userId)) {
+                claimed.add(userId);
+            }
+        });
+        if (claimed.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    submitStore(claimed);
+                }
+            });
+        } else {
+            submitStore(claimed);
+        }
+    }
+
+    private void submitStore(Set<Long> userIds) {
+        try {
+            taskExecutor.execute(() -> {
+                try {
+                    store(userProfileService.findByIds(userIds));
+                } catch (DataAccessException e) {
+                    // Se vuelve a intentar en la siguiente lectura o en el backfill
+                    log.warn("Could not store the profiles of {} review authors: {}", userIds.size(), e.getMessage());
+                } finally {
+                    pendingAuthors.removeAll(userIds);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            pendingAuthors.removeAll(userIds);
+            log.warn("Could not schedule the copy of {} review authors: {}", userIds.size(), e.getMessage());
+        }
+    }
+
+    private int store(Map<Long, UsuarioDTO> users) {
+        if (users.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> users.forEach((userId, user) ->
+                authorRepository.upsert(userId, user.getNombre(), user.getApellido(), user.getFoto(), fetchedAt(user, now))));
+        return users.size();
+    }
+
+    private static LocalDateTime fetchedAt(UsuarioDTO user, LocalDateTime now) {
+        return user.getFetchedAt() != null ? user.getFetchedAt() : now;
+    }
+
+    private static LocalDateTime changedAt(UserProfileUpdatedEvent event, LocalDateTime receivedAt) {
+        return event.getUpdatedAt() != null ? event.getUpdatedAt() : receivedAt;
+    }
+
+    private static UsuarioDTO toUsuarioDTO(ReviewAuthor author) {
+        UsuarioDTO user = new UsuarioDTO();
+        user.setId(author.getUserId());
+        user.setNombre(author.getNombre());
+        user.setApellido(author.getApellido());
+        user.setFoto(author.getFoto());
+        return user;
+    }
+}
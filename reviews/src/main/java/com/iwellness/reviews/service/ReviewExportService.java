@@ -0,0 +1,154 @@
+package com.iwellness.reviews.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iwellness.reviews.dto.ReviewExportDTO;
+import com.iwellness.reviews.model.ExportFormat;
+import com.iwellness.reviews.model.ReviewExportFilter;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streams reviews to an output stream as NDJSON or CSV. Rows are read through a
+ * forward-only cursor as DTO projections (nothing is kept in the persistence context)
+ * and written as they arrive, so memory stays flat whatever the number of rows.
+ */
+@Slf4j
+@Service
+@Timed(value = "reviews.service", histogram = true)
+public class ReviewExportService {
+
+    private static final String CSV_HEADER = "id,entityType,entityId,userId,rating,comment,createdAt,updatedAt";
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public ReviewExportService(EntityManager entityManager,
+                               ObjectMapper objectMapper,
+                               @Value("${app.reviews.export.fetch-size:1000}") int fetchSize) {
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Write every review matching the filter, ordered by id. The output is flushed every
+     * fetch-size rows so clients receive data while the export is still running.
+     */
+    @Transactional(readOnly = true)
+    public long export(ReviewExportFilter filter, ExportFormat format, OutputStream out) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long rows = 0;
+        try (Stream<ReviewExportDTO> reviews = query(filter).getResultStream()) {
+            if (format == ExportFormat.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+            Iterator<ReviewExportDTO> iterator = reviews.iterator();
+            while (iterator.hasNext()) {
+                ReviewExportDTO review = iterator.next();
+                writer.write(format == ExportFormat.CSV ? toCsv(review) : objectMapper.writeValueAsString(review));
+                writer.write('\n');
+                if (++rows % fetchSize == 0) {
+                    writer.flush();
+                }
+            }
+            writer.flush();
+        } catch (IOException e) {
+            // Normalmente el cliente cerró la conexión a mitad de la descarga
+            throw new UncheckedIOException("Review export interrupted after " + rows + " rows", e);
+        }
+        log.info("Exported {} reviews as {} ({})", rows, format, filter);
+        return rows;
+    }
+
+    private TypedQuery<ReviewExportDTO> query(ReviewExportFilter filter) {
+        // Solo se añaden las condiciones presentes: un "(:p IS NULL OR ...)" impide usar los índices
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        if (filter.getEntityType() != null) {
+            conditions.add("r.entityType = :entityType");
+            parameters.put("entityType", filter.getEntityType());
+        }
+        if (filter.getEntityId() != null) {
+            conditions.add("r.entityId = :entityId");
+            parameters.put("entityId", filter.getEntityId());
+        }
+        if (filter.getUserId() != null) {
+            conditions.add("r.userId = :userId");
+            parameters.put("userId", filter.getUserId());
+        }
+        if (filter.getFrom() != null) {
+            conditions.add("r.createdAt >= :from");
+            parameters.put("from", filter.getFrom());
+        }
+        if (filter.getTo() != null) {
+            conditions.add("r.createdAt < :to");
+            parameters.put("to", filter.getTo());
+        }
+
+        String jpql = "SELECT new com.iwellness.reviews.dto.ReviewExportDTO(r.id, r.entityType, r.entityId, "
+                + "r.userId, r.rating, r.comment, r.createdAt, r.updatedAt) FROM Review r"
+                + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions))
+                + " ORDER BY r.id";
+        TypedQuery<ReviewExportDTO> query = entityManager.createQuery(jpql, ReviewExportDTO.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+        parameters.forEach(query::setParameter);
+        return query;
+    }
+
+    static String toCsv(ReviewExportDTO review) {
+        return String.join(",",
+                csv(review.getId()),
+                csv(review.getEntityType()),
+                csv(review.getEntityId()),
+                csv(review.getUserId()),
+                csv(review.getRating()),
+                csv(review.getComment()),
+                csv(review.getCreatedAt()),
+                csv(review.getUpdatedAt()));
+    }
+
+    /**
+     * RFC 4180: quote values containing separators, quotes or line breaks. Text starting
+     * with =, +, -, @, tab or carriage return is prefixed with ' so spreadsheets opening
+     * the file show it as text instead of evaluating it as a formula.
+     */
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (value instanceof CharSequence && !text.isEmpty() && FORMULA_PREFIXES.indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+}
@@ -0,0 +1,318 @@
+package com.iwellness.reviews.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iwellness.reviews.dto.ReviewImportReportDTO;
+import com.iwellness.reviews.dto.ReviewImportRowDTO;
+import com.iwellness.reviews.entity.EntityRatingSummaryId;
+import com.iwellness.reviews.entity.Review;
+import com.iwellness.reviews.event.ReviewsImportedEvent;
+import com.iwellness.reviews.model.EntityType;
+import com.iwellness.reviews.model.RatingDelta;
+import com.iwellness.reviews.model.ReviewKey;
+import com.iwellness.reviews.publisher.ReviewEventPublisher;
+import com.iwellness.reviews.repository.ReviewRepository;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bulk import of reviews from an NDJSON stream. Rows are validated one by one and
+ * inserted in JDBC batches, one transaction per batch; rating summaries and events are
+ * written once per batch instead of once per row.
+ */
+@Slf4j
+@Service
+@Timed(value = "reviews.service", histogram = true)
+public class ReviewImportService {
+
+    // Reintentos de un lote cuando otra escritura inserta la misma reseña entre la comprobación y el INSERT
+    private static final int MAX_BATCH_ATTEMPTS = 3;
+
+    private final ReviewRepository reviewRepository;
+    private final RatingSummaryService ratingSummaryService;
+    private final RatingTrendService ratingTrendService;
+    private final ReviewAuthorService reviewAuthorService;
+    private final ReviewableService reviewableService;
+    private final ReviewEventPublisher reviewEventPublisher;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final int batchSize;
+    private final int maxReportedErrors;
+    private final boolean verifyEntities;
+
+    public ReviewImportService(ReviewRepository reviewRepository,
+                               RatingSummaryService ratingSummaryService,
+                               RatingTrendService ratingTrendService,
+                               ReviewAuthorService reviewAuthorService,
+                               ReviewableService reviewableService,
+                               ReviewEventPublisher reviewEventPublisher,
+                               ObjectMapper objectMapper,
+                               Validator validator,
+                               TransactionTemplate transactionTemplate,
+                               EntityManager entityManager,
+                               @Value("${app.reviews.import.batch-size:500}") int batchSize,
+                               @Value("${app.reviews.import.max-reported-errors:1000}") int maxReportedErrors,
+                               @Value("${app.reviews.import.verify-entities:true}") boolean verifyEntities) {
+        this.reviewRepository = reviewRepository;
+        this.ratingSummaryService = ratingSummaryService;
+        this.ratingTrendService = ratingTrendService;
+        this.reviewAuthorService = reviewAuthorService;
+        this.reviewableService = reviewableService;
+        this.reviewEventPublisher = reviewEventPublisher;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+        this.verifyEntities = verifyEntities;
+    }
+
+    /**
+     * Import every line of the stream. Blank lines are ignored; invalid rows and rows that
+     * already exist are skipped and reported, the rest are committed batch by batch.
+     */
+    public ReviewImportReportDTO importReviews(InputStream ndjson) {
+        Report report = new Report();
+        List<Row> batch = new ArrayList<>(batchSize);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8))) {
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                report.received++;
+                Row row = parse(lineNumber, line, report);
+                if (row != null) {
+                    batch.add(row);
+                }
+                if (batch.size() == batchSize) {
+                    importBatch(batch, report);
+                    batch.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading the import stream", e);
+        }
+        if (!batch.isEmpty()) {
+            importBatch(batch, report);
+        }
+
+        // Los duplicados se conocen al cerrar cada lote: se ordena el informe por línea
+        report.errors.sort(Comparator.comparingLong(ReviewImportReportDTO.RowError::getLine));
+        log.info("Review import finished: {} received, {} imported, {} duplicates, {} failed",
+                report.received, report.imported, report.duplicates, report.failed);
+        return ReviewImportReportDTO.builder()
+                .received(report.received)
+                .imported(report.imported)
+                .duplicates(report.duplicates)
+                .failed(report.failed)
+                .errors(report.errors)
+                .errorsTruncated(report.failed + report.duplicates > report.errors.size())
+                .build();
+    }
+
+    private Row parse(long lineNumber, String line, Report report) {
+        ReviewImportRowDTO data;
+        try {
+            data = objectMapper.readValue(line, ReviewImportRowDTO.class);
+        } catch (JsonProcessingException e) {
+            report.failed(lineNumber, "Invalid JSON: " + e.getOriginalMessage());
+            return null;
+        }
+        Set<ConstraintViolation<ReviewImportRowDTO>> violations = validator.validate(data);
+        if (!violations.isEmpty()) {
+            report.failed(lineNumber, violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+            return null;
+        }
+        return new Row(lineNumber, data);
+    }
+
+    private void importBatch(List<Row> rows, Report report) {
+        List<Row> reviewable = verifyEntities ? filterReviewable(rows, report) : rows;
+        if (reviewable.isEmpty()) {
+            return;
+        }
+        for (int attempt = 1; attempt <= MAX_BATCH_ATTEMPTS; attempt++) {
+            try {
+                BatchResult result = transactionTemplate.execute(status -> insertBatch(reviewable));
+                report.imported += result.imported;
+                result.duplicates.forEach(row -> report.duplicate(row.line));
+                if (result.imported > 0) {
+                    // Fuera de la transacción del lote: una sola consulta masiva para los autores nuevos
+                    reviewAuthorService.snapshotMissing(reviewable.stream()
+                            .map(row -> row.data.getUserId())
+                            .collect(Collectors.toSet()));
+                }
+                return;
+            } catch (DataIntegrityViolationException e) {
+                // Otra escritura insertó alguna de las reseñas; al repetir el lote se detectan como duplicadas
+                log.warn("Import batch conflicted with a concurrent write (attempt {}): {}", attempt, e.getMessage());
+            }
+        }
+        reviewable.forEach(row -> report.failed(row.line, "Batch could not be imported after "
+                + MAX_BATCH_ATTEMPTS + " attempts"));
+    }
+
+    /**
+     * Check each distinct entity once per batch, outside the transaction
+     */
+    private List<Row> filterReviewable(List<Row> rows, Report report) {
+        Map<EntityRatingSummaryId, Boolean> checked = new HashMap<>();
+        List<Row> reviewable = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            EntityType entityType = row.data.getEntityType();
+            Long entityId = row.data.getEntityId();
+            boolean exists = checked.computeIfAbsent(new EntityRatingSummaryId(entityType.toString(), entityId),
+                    id -> reviewableService.isReviewable(entityType, entityId));
+            if (exists) {
+                reviewable.add(row);
+            } else {
+                report.failed(row.line, "Entity not found or not reviewable: " + entityType + " " + entityId);
+            }
+        }
+        return reviewable;
+    }
+
+    private BatchResult insertBatch(List<Row> rows) {
+        Set<ReviewKey> existing = new HashSet<>(reviewRepository.findKeysByEntityTypeInAndEntityIdInAndUserIdIn(
+                rows.stream().map(row -> row.data.getEntityType().toString()).collect(Collectors.toSet()),
+                rows.stream().map(row -> row.data.getEntityId()).collect(Collectors.toSet()),
+                rows.stream().map(row -> row.data.getUserId()).collect(Collectors.toSet())));
+
+        BatchResult result = new BatchResult();
+        List<Review> reviews = new ArrayList<>(rows.size());
+        Map<EntityRatingSummaryId, RatingDelta> deltas = new LinkedHashMap<>();
+        Map<EntityRatingSummaryId, Integer> counts = new LinkedHashMap<>();
+        for (Row row : rows) {
+            ReviewImportRowDTO data = row.data;
+            String entityType = data.getEntityType().toString();
+            // add() también descarta las filas repetidas dentro del mismo lote
+            if (!existing.add(new ReviewKey(entityType, data.getEntityId(), data.getUserId()))) {
+                result.duplicates.add(row);
+                continue;
+            }
+            reviews.add(Review.builder()
+                    .entityType(entityType)
+                    .entityId(data.getEntityId())
+                    .userId(data.getUserId())
+                    .rating(data.getRating())
+                    .comment(data.getComment())
+                    .createdAt(data.getCreatedAt())
+                    .build());
+            EntityRatingSummaryId entity = new EntityRatingSummaryId(entityType, data.getEntityId());
+            deltas.computeIfAbsent(entity, id -> new RatingDelta()).add(data.getRating());
+            counts.merge(entity, 1, Integer::sum);
+        }
+        if (reviews.isEmpty()) {
+            return result;
+        }
+
+        // Flush por el repositorio para que un conflicto de clave llegue como DataIntegrityViolationException
+        reviewRepository.saveAllAndFlush(reviews);
+        deltas.forEach((entity, delta) ->
+                ratingSummaryService.applyDelta(entity.getEntityType(), entity.getEntityId(), delta));
+        dailyDeltas(reviews).forEach((bucket, delta) ->
+                ratingTrendService.applyDelta(bucket.entity().getEntityType(), bucket.entity().getEntityId(),
+                        bucket.day().atStartOfDay(), delta));
+        reviewEventPublisher.publishReviewsImported(ReviewsImportedEvent.builder()
+                .imported(reviews.size())
+                .entities(counts.entrySet().stream()
+                        .map(entry -> ReviewsImportedEvent.ImportedEntity.builder()
+                                .entityType(entry.getKey().getEntityType())
+                                .entityId(entry.getKey().getEntityId())
+                                .reviews(entry.getValue())
+                                .build())
+                        .toList())
+                .importedAt(LocalDateTime.now())
+                .build());
+
+        // Con open-in-view el EntityManager vive toda la petición: se vacía en cada lote
+        reviewRepository.flush();
+        entityManager.clear();
+        result.imported = reviews.size();
+        return result;
+    }
+
+    /**
+     * Group the imported reviews by entity and creation day (set by @PrePersist when absent)
+     */
+    private static Map<DailyBucket, RatingDelta> dailyDeltas(List<Review> reviews) {
+        Map<DailyBucket, RatingDelta> deltas = new LinkedHashMap<>();
+        for (Review review : reviews) {
+            DailyBucket bucket = new DailyBucket(new EntityRatingSummaryId(review.getEntityType(), review.getEntityId()),
+                    review.getCreatedAt().toLocalDate());
+            deltas.computeIfAbsent(bucket, key -> new RatingDelta()).add(review.getRating());
+        }
+        return deltas;
+    }
+
+    private record Row(long line, ReviewImportRowDTO data) {
+    }
+
+    private record DailyBucket(EntityRatingSummaryId entity, LocalDate day) {
+    }
+
+    private static class BatchResult {
+        private int imported;
+        private final List<Row> duplicates = new ArrayList<>();
+    }
+
+    private class Report {
+        private long received;
+        private long imported;
+        private long duplicates;
+        private long failed;
+        private final List<ReviewImportReportDTO.RowError> errors = new ArrayList<>();
+
+        void failed(long line, String message) {
+            failed++;
+            error(line, message);
+        }
+
+        void duplicate(long line) {
+            duplicates++;
+            error(line, "Duplicate review: the user already reviewed this entity");
+        }
+
+        private void error(long line, String message) {
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ReviewImportReportDTO.RowError(line, message));
+            }
+        }
+    }
+}
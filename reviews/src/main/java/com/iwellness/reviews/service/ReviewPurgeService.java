@@ -0,0 +1,99 @@
+package com.iwellness.reviews.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.iwellness.reviews.publisher.ReviewEventPublisher;
+import com.iwellness.reviews.repository.ReviewRepository;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Removes every review of a service or provider deleted upstream. Reviews are deleted in
+ * chunks of app.reviews.purge.chunk-size rows, one short transaction per chunk with a pause
+ * in between, so a large provider does not hold locks or saturate the database. The last
+ * chunk also drops the entity's summary and trend rows and records a single summary event,
+ * instead of updating the aggregates and publishing a ReviewDeleted per row. Until then the
+ * aggregates of a half-purged entity still show its reviews from before the purge; the
+ * entity no longer exists upstream, so nothing renders them in the meantime.
+ */
+@Slf4j
+@Service
+@Timed(value = "reviews.service", histogram = true)
+public class ReviewPurgeService {
+
+    private final ReviewRepository reviewRepository;
+    private final RatingSummaryService ratingSummaryService;
+    private final RatingTrendService ratingTrendService;
+    private final ReviewEventPublisher reviewEventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final long pauseMillis;
+
+    public ReviewPurgeService(ReviewRepository reviewRepository,
+                              RatingSummaryService ratingSummaryService,
+                              RatingTrendService ratingTrendService,
+                              ReviewEventPublisher reviewEventPublisher,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${app.reviews.purge.chunk-size:1000}") int chunkSize,
+                              @Value("${app.reviews.purge.pause-ms:200}") long pauseMillis) {
+        this.reviewRepository = reviewRepository;
+        this.ratingSummaryService = ratingSummaryService;
+        this.ratingTrendService = ratingTrendService;
+        this.reviewEventPublisher = reviewEventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.pauseMillis = pauseMillis;
+    }
+
+    /**
+     * Delete all the reviews of an entity and return how many this call removed. Safe to
+     * repeat: a purge interrupted half way is completed by the next one. The event reports
+     * the entity's review count before the purge, which the summary row keeps until the
+     * last chunk, so a resumed purge does not under-report the reviews removed earlier.
+     */
+    public long purgeEntity(String entityType, Long entityId) {
+        Long summarized = transactionTemplate.execute(status ->
+                ratingSummaryService.getRating(entityType, entityId).getTotalReviews());
+        long reviewsBefore = summarized != null ? summarized : 0L;
+        long deleted = 0;
+        while (true) {
+            long deletedBefore = deleted;
+            int removed = transactionTemplate.execute(status -> {
+                int count = reviewRepository.deleteChunkByEntity(entityType, entityId, chunkSize);
+                if (count < chunkSize) {
+                    // Último bloque: agregados y evento una sola vez, en la misma transacción
+                    ratingSummaryService.remove(entityType, entityId);
+                    ratingTrendService.remove(entityType, entityId);
+                    long total = Math.max(reviewsBefore, deletedBefore + count);
+                    if (total > 0) {
+                        reviewEventPublisher.publishEntityReviewsPurged(entityType, entityId, total);
+                    }
+                }
+                return count;
+            });
+            deleted += removed;
+            if (removed < chunkSize) {
+                break;
+            }
+            pause();
+        }
+        log.info("Purged {} reviews of deleted {} {} ({} before the purge)", deleted, entityType, entityId, reviewsBefore);
+        return deleted;
+    }
+
+    private void pause() {
+        if (pauseMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(pauseMillis);
+        } catch (InterruptedException e) {
+            // Al apagar la instancia: el mensaje vuelve a la cola y el siguiente intento continúa
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Review purge interrupted", e);
+        }
+    }
+}
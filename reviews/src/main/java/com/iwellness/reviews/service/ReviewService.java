@@ -1,6 +1,8 @@
 package com.iwellness.reviews.service;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.springframework.data.domain.Page;
@@ -10,8 +12,11 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import com.iwellness.reviews.client.UserApiClient;
+import com.iwellness.reviews.dto.CursorPageDTO;
+import com.iwellness.reviews.dto.EntityReferenceDTO;
+import com.iwellness.reviews.dto.LeaderboardEntryDTO;
 import com.iwellness.reviews.dto.RatingDTO;
+import com.iwellness.reviews.dto.RatingTrendDTO;
 import com.iwellness.reviews.dto.ReviewRequestDTO;
 import com.iwellness.reviews.dto.ReviewResponseDTO;
 import com.iwellness.reviews.dto.UsuarioDTO;
@@ -19,30 +24,45 @@ import com.iwellness.reviews.entity.Review;
 import com.iwellness.reviews.exception.DuplicateReviewException;
 import com.iwellness.reviews.exception.ReviewNotFoundException;
 import com.iwellness.reviews.exception.UnauthorizedReviewAccessException;
-import com.iwellness.reviews.model.Reviewable;
+import com.iwellness.reviews.model.EntityVersion;
+import com.iwellness.reviews.model.RatingDelta;
+import com.iwellness.reviews.model.ReviewCursor;
+import com.iwellness.reviews.model.ReviewView;
+import com.iwellness.reviews.model.TrendGranularity;
 import com.iwellness.reviews.publisher.ReviewEventPublisher;
+import com.iwellness.reviews.repository.FullTextSearchSupport;
 import com.iwellness.reviews.repository.ReviewRepository;
 
-import feign.FeignException;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Service
+@Timed(value = "reviews.service", histogram = true)
 public class ReviewService {
 
     private final ReviewRepository reviewRepository;
     private final ReviewEventPublisher reviewEventPublisher;
-    private final UserApiClient userApiClient;
+    private final ReviewAuthorService reviewAuthorService;
     private final ReviewableService reviewableService; // New service to fetch reviewable entities
+    private final RatingSummaryService ratingSummaryService;
+    private final RatingTrendService ratingTrendService;
+    private final FullTextSearchSupport fullTextSearchSupport;
 
     public ReviewService(ReviewRepository reviewRepository, 
                         ReviewEventPublisher reviewEventPublisher, 
-                        UserApiClient userApiClient,
-                        ReviewableService reviewableService) {
+                        ReviewAuthorService reviewAuthorService,
+                        ReviewableService reviewableService,
+                        RatingSummaryService ratingSummaryService,
+                        RatingTrendService ratingTrendService,
+                        FullTextSearchSupport fullTextSearchSupport) {
         this.reviewRepository = reviewRepository;
         this.reviewEventPublisher = reviewEventPublisher;
-        this.userApiClient = userApiClient;
+        this.reviewAuthorService = reviewAuthorService;
         this.reviewableService = reviewableService;
+        this.ratingSummaryService = ratingSummaryService;
+        this.ratingTrendService = ratingTrendService;
+        this.fullTextSearchSupport = fullTextSearchSupport;
     }
 
     /**
@@ -54,10 +74,7 @@ public class ReviewService {
                 requestDTO.getEntityType(), requestDTO.getEntityId(), userId);
 
         // Verify the entity exists and is reviewable
-        Reviewable reviewable = reviewableService.getReviewableEntity(
-                requestDTO.getEntityType(), requestDTO.getEntityId());
-        
-        if (reviewable == null) {
+        if (!reviewableService.isReviewable(requestDTO.getEntityType(), requestDTO.getEntityId())) {
             throw new IllegalArgumentException("Entity not found or not reviewable");
         }
 
@@ -78,10 +95,18 @@ public class ReviewService {
         Review savedReview = reviewRepository.save(review);
         log.info("Review created with ID: {}", savedReview.getId());
 
+        RatingDelta delta = RatingDelta.added(savedReview.getRating());
+        ratingSummaryService.applyDelta(savedReview.getEntityType(), savedReview.getEntityId(), delta);
+        ratingTrendService.applyDelta(savedReview.getEntityType(), savedReview.getEntityId(),
+                savedReview.getCreatedAt(), delta);
+
         // Publish events
         reviewEventPublisher.publishReviewCreated(savedReview);
+
+        // Copia local del perfil del autor: las lecturas no consultan admin-users-service
+        UsuarioDTO author = reviewAuthorService.snapshot(userId);
         
-        return mapToResponseDTO(savedReview);
+        return mapToResponseDTO(ReviewView.of(savedReview), author);
     }
 
     /**
@@ -105,6 +130,11 @@ public class ReviewService {
         Review updatedReview = reviewRepository.save(review);
         log.info("Review updated: {}", reviewId);
 
+        RatingDelta delta = RatingDelta.changed(oldRating, updatedReview.getRating());
+        ratingSummaryService.applyDelta(updatedReview.getEntityType(), updatedReview.getEntityId(), delta);
+        ratingTrendService.applyDelta(updatedReview.getEntityType(), updatedReview.getEntityId(),
+                updatedReview.getCreatedAt(), delta);
+
         // Publish events
         reviewEventPublisher.publishReviewUpdated(updatedReview);
 
@@ -131,6 +161,9 @@ public class ReviewService {
         reviewRepository.delete(review);
         log.info("Review deleted: {}", reviewId);
 
+        RatingDelta delta = RatingDelta.removed(review.getRating());
+        ratingSummaryService.applyDelta(entityType, entityId, delta);
+        ratingTrendService.applyDelta(entityType, entityId, review.getCreatedAt(), delta);
     }
 
     /**
@@ -138,7 +171,7 @@ public class ReviewService {
      */
     @Transactional(readOnly = true)
     public ReviewResponseDTO getReviewById(Long reviewId) {
-        Review review = reviewRepository.findById(reviewId)
+        ReviewView review = reviewRepository.findViewById(reviewId)
             .orElseThrow(() -> new ReviewNotFoundException("Review not found with ID: " + reviewId));
         
         return mapToResponseDTO(review);
@@ -151,8 +184,68 @@ public class ReviewService {
     public Page<ReviewResponseDTO> getReviewsByEntity(Long entityId, String entityType, 
                                                      int page, int size, String sortBy) {
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, sortBy));
-        Page<Review> reviews = reviewRepository.findByEntityTypeAndEntityId(entityType, entityId, pageable);
-        return reviews.map(this::mapToResponseDTO);
+        Page<ReviewView> reviews = reviewRepository.findViewsByEntity(entityType, entityId, pageable);
+        Map<Long, UsuarioDTO> users = resolveUsers(reviews.getContent());
+        return reviews.map(review -> mapToResponseDTO(review, users.get(review.getUserId())));
+    }
+
+    /**
+     * Search the comments of an entity's reviews. On PostgreSQL this uses the comment_tsv
+     * GIN index (Spanish stemming, web-search syntax) and ranks by relevance; elsewhere it
+     * falls back to a case-insensitive substring match, newest first.
+     */
+    @Transactional(readOnly = true)
+    public Page<ReviewResponseDTO> searchReviewsByEntity(Long entityId, String entityType, String query,
+                                                         int page, int size) {
+        Pageable pageable = PageRequest.of(page, size);
+        Page<ReviewView> reviews = (fullTextSearchSupport.isAvailable()
+                ? reviewRepository.searchByEntityFullText(entityType, entityId, query, pageable)
+                : reviewRepository.searchByEntityLike(entityType, entityId, escapeLike(query), pageable))
+                .map(ReviewView::of);
+        Map<Long, UsuarioDTO> users = resolveUsers(reviews.getContent());
+        return reviews.map(review -> mapToResponseDTO(review, users.get(review.getUserId())));
+    }
+
+    /**
+     * Get reviews by entity with keyset pagination (newest first), without a count query.
+     * An empty cursor returns the first page.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ReviewResponseDTO> getReviewsByEntityCursor(Long entityId, String entityType,
+                                                                     String cursor, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must not be less than one");
+        }
+
+        // One extra row tells whether there is a next page
+        Pageable pageable = PageRequest.of(0, size + 1);
+        List<ReviewView> reviews;
+        if (cursor == null || cursor.isBlank()) {
+            reviews = reviewRepository.findFirstByEntityOrderByCreatedAtDesc(entityType, entityId, pageable);
+        } else {
+            ReviewCursor position = ReviewCursor.decode(cursor);
+            reviews = reviewRepository.findByEntityBeforeCursor(entityType, entityId,
+                    position.getCreatedAt(), position.getId(), pageable);
+        }
+
+        boolean hasNext = reviews.size() > size;
+        List<ReviewView> page = hasNext ? reviews.subList(0, size) : reviews;
+        Map<Long, UsuarioDTO> users = resolveUsers(page);
+
+        String nextCursor = null;
+        if (hasNext) {
+            ReviewView last = page.get(page.size() - 1);
+            nextCursor = new ReviewCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return CursorPageDTO.<ReviewResponseDTO>builder()
+                .content(page.stream()
+                        .map(review -> mapToResponseDTO(review, users.get(review.getUserId())))
+                        .collect(Collectors.toList()))
+                .size(size)
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .build();
     }
 
     /**
@@ -160,24 +253,41 @@ public class ReviewService {
      */
     @Transactional(readOnly = true)
     public RatingDTO getRatingByEntity(Long entityId, String entityType) {
-        Double averageRating = reviewRepository.calculateAverageRatingByEntity(entityType, entityId);
-        Long totalReviews = reviewRepository.countByEntityTypeAndEntityId(entityType, entityId);
-
-        RatingDTO.RatingDistribution distribution = RatingDTO.RatingDistribution.builder()
-                .fiveStars(reviewRepository.countByEntityTypeAndEntityIdAndRating(entityType, entityId, 5))
-                .fourStars(reviewRepository.countByEntityTypeAndEntityIdAndRating(entityType, entityId, 4))
-                .threeStars(reviewRepository.countByEntityTypeAndEntityIdAndRating(entityType, entityId, 3))
-                .twoStars(reviewRepository.countByEntityTypeAndEntityIdAndRating(entityType, entityId, 2))
-                .oneStar(reviewRepository.countByEntityTypeAndEntityIdAndRating(entityType, entityId, 1))
-                .build();
+        return ratingSummaryService.getRating(entityType, entityId);
+    }
 
-        return RatingDTO.builder()
-                .entityId(entityId)
-                .entityType(entityType)
-                .averageRating(averageRating != null ? averageRating : 0.0)
-                .totalReviews(totalReviews)
-                .distribution(distribution)
-                .build();
+    /**
+     * Version stamp of the reviews of an entity, bumped by every create, update and delete.
+     * Lets the controller answer conditional GETs before running any query or user lookup.
+     */
+    @Transactional(readOnly = true)
+    public EntityVersion getEntityVersion(Long entityId, String entityType) {
+        return ratingSummaryService.getVersion(entityType, entityId);
+    }
+
+    /**
+     * Get the ratings of several entities at once, e.g. for listing pages
+     */
+    @Transactional(readOnly = true)
+    public List<RatingDTO> getRatingsByEntities(List<EntityReferenceDTO> entities) {
+        return ratingSummaryService.getRatings(entities);
+    }
+
+    /**
+     * Get the rating series of an entity over a date range, read from the trend buckets
+     */
+    @Transactional(readOnly = true)
+    public RatingTrendDTO getRatingTrend(Long entityId, String entityType, LocalDate from, LocalDate to,
+                                         TrendGranularity granularity) {
+        return ratingTrendService.getTrend(entityType, entityId, from, to, granularity);
+    }
+
+    /**
+     * Get the best rated entities of a type, ranked by Bayesian average
+     */
+    @Transactional(readOnly = true)
+    public Page<LeaderboardEntryDTO> getLeaderboard(String entityType, int page, int size) {
+        return ratingSummaryService.getLeaderboard(entityType, page, size);
     }
 
     /**
@@ -186,25 +296,40 @@ public class ReviewService {
     @Transactional(readOnly = true)
     public List<ReviewResponseDTO> getRecentReviewsByEntity(Long entityId, String entityType, int limit) {
         Pageable pageable = PageRequest.of(0, limit);
-        List<Review> reviews = reviewRepository.findRecentByEntity(entityType, entityId, pageable);
+        List<ReviewView> reviews = reviewRepository.findRecentByEntity(entityType, entityId, pageable);
+        Map<Long, UsuarioDTO> users = resolveUsers(reviews);
         return reviews.stream()
-                .map(this::mapToResponseDTO)
+                .map(review -> mapToResponseDTO(review, users.get(review.getUserId())))
                 .collect(Collectors.toList());
     }
 
     // Keep existing methods for user reviews, etc.
 
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Resolve the authors of a page of reviews from their stored profiles, in one query
+     */
+    private Map<Long, UsuarioDTO> resolveUsers(List<ReviewView> reviews) {
+        return reviewAuthorService.findByUserIds(reviews.stream()
+                .map(ReviewView::getUserId)
+                .collect(Collectors.toSet()));
+    }
+
     /**
      * Unified mapping to response DTO
      */
     private ReviewResponseDTO mapToResponseDTO(Review review) {
-        UsuarioDTO user = null;
-        try {
-            user = userApiClient.findById(review.getUserId());
-        } catch (FeignException e) {
-            log.error("Error fetching user data for ID: {}. Cause: {}", review.getUserId(), e.getMessage());
-        }
+        return mapToResponseDTO(ReviewView.of(review));
+    }
+
+    private ReviewResponseDTO mapToResponseDTO(ReviewView review) {
+        return mapToResponseDTO(review, reviewAuthorService.findByUserId(review.getUserId()));
+    }
 
+    private ReviewResponseDTO mapToResponseDTO(ReviewView review, UsuarioDTO user) {
         String username = (user != null && user.getNombre() != null) 
                 ? user.getNombre() + " " + user.getApellido() 
                 : "Usuario Anónimo";
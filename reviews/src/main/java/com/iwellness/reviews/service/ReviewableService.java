@@ -1,24 +1,77 @@
 package com.iwellness.reviews.service;
 
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.iwellness.reviews.client.DownstreamGuard;
 import com.iwellness.reviews.client.ServicioApiClient;
 import com.iwellness.reviews.client.UserApiClient;
 import com.iwellness.reviews.model.EntityType;
 import com.iwellness.reviews.model.Reviewable;
 
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Service
+@Timed(value = "reviews.service", histogram = true)
 public class ReviewableService {
 
     private final ServicioApiClient servicioApiClient;
     private final UserApiClient userApiClient;
+    private final DownstreamGuard servicioGuard;
+    private final DownstreamGuard usersGuard;
+
+    // Only positive answers are cached: a missing entity may be created at any moment,
+    // while a deleted or disabled one is evicted through EntityLifecycleListener
+    private final Cache<ReviewableKey, Boolean> knownReviewables;
 
-    public ReviewableService(ServicioApiClient servicioApiClient, UserApiClient userApiClient) {
+    public ReviewableService(ServicioApiClient servicioApiClient,
+                             UserApiClient userApiClient,
+                             DownstreamGuard servicioGuard,
+                             DownstreamGuard usersGuard,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.reviews.reviewables.cache.max-entries:50000}") long cacheMaxEntries,
+                             @Value("${app.reviews.reviewables.cache.ttl-ms:600000}") long cacheTtlMillis) {
         this.servicioApiClient = servicioApiClient;
         this.userApiClient = userApiClient;
+        this.servicioGuard = servicioGuard;
+        this.usersGuard = usersGuard;
+        this.knownReviewables = Caffeine.newBuilder()
+                .maximumSize(cacheMaxEntries)
+                .expireAfterWrite(Duration.ofMillis(cacheTtlMillis))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, knownReviewables, "knownReviewables");
+    }
+
+    /**
+     * Check that the entity exists and can be reviewed, skipping the remote call
+     * when it was already confirmed recently
+     */
+    public boolean isReviewable(EntityType entityType, Long entityId) {
+        ReviewableKey key = new ReviewableKey(entityType, entityId);
+        if (knownReviewables.getIfPresent(key) != null) {
+            return true;
+        }
+        if (getReviewableEntity(entityType, entityId) == null) {
+            return false;
+        }
+        knownReviewables.put(key, Boolean.TRUE);
+        return true;
+    }
+
+    /**
+     * Forget a cached entity so the next review for it checks the owning service again
+     */
+    public void evict(EntityType entityType, Long entityId) {
+        knownReviewables.invalidate(new ReviewableKey(entityType, entityId));
     }
 
     // Method that accepts EntityType enum
@@ -26,9 +79,9 @@ public class ReviewableService {
         try {
             switch (entityType) {
                 case SERVICE:
-                    return servicioApiClient.getServicioById(entityId);
+                    return servicioGuard.call(() -> servicioApiClient.getServicioById(entityId));
                 case PROVIDER:
-                    return userApiClient.findById(entityId);
+                    return usersGuard.call(() -> userApiClient.findById(entityId));
                 default:
                     log.warn("Unsupported entity type: {}", entityType);
                     return null;
@@ -50,4 +103,7 @@ public class ReviewableService {
             return null;
         }
     }
+
+    private record ReviewableKey(EntityType entityType, Long entityId) {
+    }
 }
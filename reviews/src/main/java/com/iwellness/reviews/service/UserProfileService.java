@@ -0,0 +1,289 @@
+package com.iwellness.reviews.service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.iwellness.reviews.client.DownstreamBulkhead;
+import com.iwellness.reviews.client.DownstreamGuard;
+import com.iwellness.reviews.client.UserApiClient;
+import com.iwellness.reviews.dto.UsuarioDTO;
+
+import feign.FeignException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Resolves public user profiles from admin-users-service for review rendering.
+ * Profiles are kept in a bounded local cache; failed lookups are remembered for a
+ * shorter time so a missing or slow user is not requested again on every render.
+ * Every profile carries the time it was fetched (UsuarioDTO.fetchedAt), so copies made
+ * from a cached profile are not taken as newer than a later profile change.
+ */
+@Slf4j
+@Service
+@Timed(value = "reviews.service", histogram = true)
+public class UserProfileService {
+
+    private static final String CACHE_NAME = "userProfiles";
+
+    private final UserApiClient userApiClient;
+    private final DownstreamBulkhead usersBulkhead;
+    private final DownstreamGuard usersGuard;
+    private final long bulkRetryIntervalMillis;
+    private final long lookupDeadlineNanos;
+    private final Cache<Long, CachedProfile> profiles;
+
+    private volatile long bulkUnavailableUntil = 0L;
+
+    public UserProfileService(UserApiClient userApiClient,
+                              DownstreamBulkhead usersBulkhead,
+                              DownstreamGuard usersGuard,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.reviews.users.bulk-retry-interval-ms:600000}") long bulkRetryIntervalMillis,
+                              @Value("${app.reviews.users.lookup-deadline-ms:2000}") long lookupDeadlineMillis,
+                              @Value("${app.reviews.users.cache.max-entries:10000}") long cacheMaxEntries,
+                              @Value("${app.reviews.users.cache.ttl-ms:300000}") long cacheTtlMillis,
+                              @Value("${app.reviews.users.cache.negative-ttl-ms:30000}") long cacheNegativeTtlMillis) {
+        this.userApiClient = userApiClient;
+        this.usersBulkhead = usersBulkhead;
+        this.usersGuard = usersGuard;
+        this.bulkRetryIntervalMillis = bulkRetryIntervalMillis;
+        this.lookupDeadlineNanos = TimeUnit.MILLISECONDS.toNanos(lookupDeadlineMillis);
+        this.profiles = Caffeine.newBuilder()
+                .maximumSize(cacheMaxEntries)
+                .expireAfter(new ProfileExpiry(cacheTtlMillis, cacheNegativeTtlMillis))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, profiles, CACHE_NAME);
+    }
+
+    /**
+     * Fetch a single profile, or null when it cannot be resolved
+     */
+    public UsuarioDTO findById(Long userId) {
+        if (userId == null) {
+            return null;
+        }
+        CachedProfile profile = profiles.get(userId, this::fetch);
+        return profile != null ? profile.user() : null;
+    }
+
+    /**
+     * Resolve the distinct profiles of a page of reviews. Cached profiles are served
+     * locally; the rest go to the bulk endpoint, falling back to parallel single lookups
+     * in the users bulkhead when it is not available. The whole resolution is bounded by
+     * the lookup deadline: users that could not be resolved in time are absent from the
+     * result, and their late answers still warm the cache.
+     */
+    public Map<Long, UsuarioDTO> findByIds(Collection<Long> userIds) {
+        Set<Long> ids = new LinkedHashSet<>(userIds);
+        ids.remove(null);
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+
+        long deadline = System.nanoTime() + lookupDeadlineNanos;
+        Map<Long, CachedProfile> resolved = new HashMap<>(profiles.getAll(ids, missing -> fetchAll(missing, deadline)));
+
+        Map<Long, UsuarioDTO> users = new HashMap<>();
+        resolved.forEach((id, profile) -> {
+            if (profile.user() != null) {
+                users.put(id, profile.user());
+            }
+        });
+        return users;
+    }
+
+    /**
+     * Return the profiles already in the local cache, without calling the users service
+     */
+    public Map<Long, UsuarioDTO> findCached(Collection<Long> userIds) {
+        Map<Long, UsuarioDTO> users = new HashMap<>();
+        profiles.getAllPresent(userIds).forEach((id, profile) -> {
+            if (profile.user() != null) {
+                users.put(id, profile.user());
+            }
+        });
+        return users;
+    }
+
+    /**
+     * Drop cached profiles, e.g. when their users report a profile change
+     */
+    public void evict(Collection<Long> userIds) {
+        profiles.invalidateAll(userIds);
+    }
+
+    /**
+     * Load a single profile; null (not cached) while the users circuit is open
+     */
+    private CachedProfile fetch(Long userId) {
+        try {
+            return new CachedProfile(fetchedNow(usersGuard.call(() -> userApiClient.findById(userId))));
+        } catch (CallNotPermittedException e) {
+            return null;
+        } catch (FeignException e) {
+            log.error("Error fetching user data for ID: {}. Cause: {}", userId, e.getMessage());
+            return CachedProfile.MISSING;
+        }
+    }
+
+    /**
+     * Load the profiles missing from the cache. Users the service answered for are all
+     * cached, missing ones as not found; users without an answer before the deadline are
+     * left out so they are requested again next time.
+     */
+    private Map<Long, CachedProfile> fetchAll(Set<? extends Long> missingIds, long deadline) {
+        List<Long> ids = List.copyOf(missingIds);
+
+        if (System.currentTimeMillis() >= bulkUnavailableUntil) {
+            CompletableFuture<List<UsuarioDTO>> bulk = usersBulkhead.submit(() -> usersGuard.call(() -> userApiClient.findByIds(ids)));
+            try {
+                return withMissing(ids, indexById(await(bulk, deadline)));
+            } catch (FeignException.NotFound | FeignException.MethodNotAllowed | FeignException.NotImplemented e) {
+                log.warn("Bulk user profile endpoint not available ({}), falling back to single lookups", e.status());
+                bulkUnavailableUntil = System.currentTimeMillis() + bulkRetryIntervalMillis;
+            } catch (FeignException e) {
+                log.error("Error fetching user data for IDs: {}. Cause: {}", ids, e.getMessage());
+                return withMissing(ids, Map.of());
+            } catch (CallNotPermittedException e) {
+                log.debug("Users circuit is open, showing {} users as anonymous", ids.size());
+                return Map.of();
+            } catch (TimeoutException | RejectedExecutionException e) {
+                log.warn("Bulk lookup of {} users did not complete before the deadline, showing them as anonymous", ids.size());
+                bulk.thenAccept(users -> profiles.putAll(indexById(users)));
+                return Map.of();
+            }
+        }
+
+        return fetchEachInParallel(ids, deadline);
+    }
+
+    private Map<Long, CachedProfile> fetchEachInParallel(List<Long> ids, long deadline) {
+        Map<Long, CompletableFuture<CachedProfile>> lookups = new LinkedHashMap<>();
+        for (Long id : ids) {
+            lookups.put(id, usersBulkhead.submit(() -> fetch(id)));
+        }
+
+        Map<Long, CachedProfile> fetched = new HashMap<>();
+        int unresolved = 0;
+        for (Map.Entry<Long, CompletableFuture<CachedProfile>> lookup : lookups.entrySet()) {
+            try {
+                CachedProfile profile = await(lookup.getValue(), deadline);
+                if (profile != null) {
+                    fetched.put(lookup.getKey(), profile);
+                } else {
+                    unresolved++;
+                }
+            } catch (TimeoutException e) {
+                lookup.getValue().thenAccept(profile -> {
+                    if (profile != null) {
+                        profiles.put(lookup.getKey(), profile);
+                    }
+                });
+                unresolved++;
+            } catch (RejectedExecutionException e) {
+                unresolved++;
+            }
+        }
+        if (unresolved > 0) {
+            log.warn("{} of {} user lookups missed the deadline or were rejected, showing them as anonymous",
+                    unresolved, ids.size());
+        }
+        return fetched;
+    }
+
+    private static <T> T await(CompletableFuture<T> future, long deadline) throws TimeoutException {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("Interrupted while waiting for user lookups");
+        }
+    }
+
+    private static Map<Long, CachedProfile> withMissing(List<Long> ids, Map<Long, CachedProfile> fetched) {
+        Map<Long, CachedProfile> result = new HashMap<>();
+        for (Long id : ids) {
+            result.put(id, fetched.getOrDefault(id, CachedProfile.MISSING));
+        }
+        return result;
+    }
+
+    private Map<Long, CachedProfile> indexById(List<UsuarioDTO> users) {
+        Map<Long, CachedProfile> byId = new HashMap<>();
+        if (users != null) {
+            for (UsuarioDTO user : users) {
+                if (user != null && user.getId() != null) {
+                    byId.put(user.getId(), new CachedProfile(fetchedNow(user)));
+                }
+            }
+        }
+        return byId;
+    }
+
+    private static UsuarioDTO fetchedNow(UsuarioDTO user) {
+        if (user != null) {
+            user.setFetchedAt(LocalDateTime.now());
+        }
+        return user;
+    }
+
+    /**
+     * Cache entry; a null user marks a not-found or failed lookup
+     */
+    private record CachedProfile(UsuarioDTO user) {
+        static final CachedProfile MISSING = new CachedProfile(null);
+    }
+
+    private static final class ProfileExpiry implements Expiry<Long, CachedProfile> {
+
+        private final long ttlNanos;
+        private final long negativeTtlNanos;
+
+        ProfileExpiry(long ttlMillis, long negativeTtlMillis) {
+            this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+            this.negativeTtlNanos = TimeUnit.MILLISECONDS.toNanos(negativeTtlMillis);
+        }
+
+        @Override
+        public long expireAfterCreate(Long key, CachedProfile value, long currentTime) {
+            return value.user() != null ? ttlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Long key, CachedProfile value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long key, CachedProfile value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
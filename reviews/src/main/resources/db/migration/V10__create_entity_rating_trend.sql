@@ -0,0 +1,39 @@
+-- Migración para la evolución temporal de las calificaciones (tendencias)
+-- Fecha: 16 de octubre de 2026
+
+-- Paso 1: Contadores por entidad y periodo. Las escrituras mantienen cubos diarios (DAY); la compactación
+-- los agrupa en semanas (WEEK, sin cruzar el cambio de mes) y meses (MONTH)
+CREATE TABLE entity_rating_trend (
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    granularity VARCHAR(10) NOT NULL,
+    bucket_start DATE NOT NULL,
+    review_count BIGINT NOT NULL DEFAULT 0,
+    rating_sum BIGINT NOT NULL DEFAULT 0,
+    one_star BIGINT NOT NULL DEFAULT 0,
+    two_stars BIGINT NOT NULL DEFAULT 0,
+    three_stars BIGINT NOT NULL DEFAULT 0,
+    four_stars BIGINT NOT NULL DEFAULT 0,
+    five_stars BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT pk_entity_rating_trend PRIMARY KEY (entity_type, entity_id, granularity, bucket_start)
+);
+
+-- Paso 2: Índice para leer la serie de una entidad por rango de fechas, sea cual sea el periodo
+CREATE INDEX idx_entity_rating_trend_range ON entity_rating_trend (entity_type, entity_id, bucket_start);
+
+-- Paso 3: Cubos diarios de las reseñas existentes
+INSERT INTO entity_rating_trend (entity_type, entity_id, granularity, bucket_start, review_count, rating_sum,
+                                 one_star, two_stars, three_stars, four_stars, five_stars)
+SELECT entity_type,
+       entity_id,
+       'DAY',
+       CAST(created_at AS DATE),
+       COUNT(*),
+       SUM(rating),
+       COUNT(*) FILTER (WHERE rating = 1),
+       COUNT(*) FILTER (WHERE rating = 2),
+       COUNT(*) FILTER (WHERE rating = 3),
+       COUNT(*) FILTER (WHERE rating = 4),
+       COUNT(*) FILTER (WHERE rating = 5)
+FROM reviews
+GROUP BY entity_type, entity_id, CAST(created_at AS DATE);
@@ -0,0 +1,185 @@
+-- Migración para particionar la tabla reviews en despliegues grandes de PostgreSQL
+-- Fecha: 16 de octubre de 2026
+--
+-- Esta migración solo crea los procedimientos; la tabla no cambia hasta que se ejecutan, en este orden:
+--   1. CALL reviews_partition_prepare(8);     -- tabla particionada vacía + trigger que replica las escrituras
+--   2. CALL reviews_partition_copy(10000);    -- copia por lotes, un COMMIT por lote (fuera de una transacción)
+--   3. CALL reviews_partition_swap();         -- bloqueo breve: renombra las tablas y los índices
+-- La tabla original queda como reviews_unpartitioned para poder volver atrás; se borra a mano después.
+-- Completar el paso 3 antes de aplicar migraciones posteriores que modifiquen reviews.
+--
+-- Estructura: particiones LIST por entity_type (SERVICE, PROVIDER y una DEFAULT para valores heredados de V2),
+-- cada una subparticionada por HASH (entity_id). Las consultas que filtran por (entity_type, entity_id) solo
+-- leen una partición. La clave primaria pasa a ser (id, entity_type, entity_id), porque en PostgreSQL toda
+-- restricción única debe incluir las columnas de partición; uk_entity_user ya las incluye.
+
+-- Paso 1: Columnas de reviews que se copian (las generadas, como comment_tsv, las recalcula PostgreSQL)
+CREATE OR REPLACE FUNCTION reviews_partition_columns(prefix TEXT DEFAULT '')
+RETURNS TEXT LANGUAGE sql STABLE AS $$
+    SELECT string_agg(prefix || quote_ident(column_name), ', ' ORDER BY ordinal_position)
+    FROM information_schema.columns
+    WHERE table_schema = current_schema()
+      AND table_name = 'reviews'
+      AND is_generated = 'NEVER'
+$$;
+
+-- Paso 2: Crear la tabla particionada, sus índices y el trigger que mantiene sincronizadas las escrituras
+CREATE OR REPLACE PROCEDURE reviews_partition_prepare(hash_partitions INTEGER DEFAULT 8)
+LANGUAGE plpgsql AS $$
+DECLARE
+    partition_type TEXT;
+    partition_name TEXT;
+    hash_remainder INTEGER;
+    idx RECORD;
+    updates TEXT;
+BEGIN
+    IF to_regclass('reviews_partitioned') IS NOT NULL THEN
+        RAISE EXCEPTION 'reviews_partitioned already exists';
+    END IF;
+    IF EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = 'reviews'::regclass) THEN
+        RAISE EXCEPTION 'reviews is already partitioned';
+    END IF;
+
+    CREATE TABLE reviews_partitioned (LIKE reviews INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING GENERATED)
+        PARTITION BY LIST (entity_type);
+    ALTER TABLE reviews_partitioned
+        ADD CONSTRAINT reviews_partitioned_pkey PRIMARY KEY (id, entity_type, entity_id),
+        ADD CONSTRAINT uk_entity_user_partitioned UNIQUE (entity_type, entity_id, user_id);
+
+    FOREACH partition_type IN ARRAY ARRAY['SERVICE', 'PROVIDER'] LOOP
+        partition_name := 'reviews_' || lower(partition_type);
+        EXECUTE format('CREATE TABLE %I PARTITION OF reviews_partitioned FOR VALUES IN (%L) PARTITION BY HASH (entity_id)',
+                       partition_name, partition_type);
+        FOR hash_remainder IN 0 .. hash_partitions - 1 LOOP
+            EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES WITH (MODULUS %s, REMAINDER %s)',
+                           partition_name || '_' || hash_remainder, partition_name, hash_partitions, hash_remainder);
+        END LOOP;
+    END LOOP;
+    -- Valores heredados ('servicio') o tipos nuevos que aún no tienen partición propia
+    CREATE TABLE reviews_other PARTITION OF reviews_partitioned DEFAULT;
+
+    -- Los mismos índices que reviews (salvo los de restricciones), con sufijo _p hasta el cambio de nombre
+    FOR idx IN
+        SELECT c.relname, pg_get_indexdef(i.indexrelid) AS definition
+        FROM pg_index i
+        JOIN pg_class c ON c.oid = i.indexrelid
+        WHERE i.indrelid = 'reviews'::regclass
+          AND NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conindid = i.indexrelid)
+    LOOP
+        EXECUTE regexp_replace(idx.definition, '^CREATE (UNIQUE )?INDEX \S+ ON (ONLY )?\S+',
+                               'CREATE \1INDEX ' || quote_ident(idx.relname || '_p') || ' ON reviews_partitioned');
+    END LOOP;
+
+    CREATE TABLE reviews_partition_copy_state (
+        last_id BIGINT NOT NULL,
+        done BOOLEAN NOT NULL
+    );
+    INSERT INTO reviews_partition_copy_state VALUES (0, false);
+
+    -- El trigger se crea con la lista de columnas actual. Las claves no cambian al actualizar, pero si
+    -- lo hicieran la fila se borra y se vuelve a insertar en su nueva partición
+    SELECT string_agg(quote_ident(column_name) || ' = EXCLUDED.' || quote_ident(column_name), ', '
+                      ORDER BY ordinal_position)
+    INTO updates
+    FROM information_schema.columns
+    WHERE table_schema = current_schema()
+      AND table_name = 'reviews'
+      AND is_generated = 'NEVER'
+      AND column_name NOT IN ('id', 'entity_type', 'entity_id');
+    EXECUTE format($function$
+        CREATE FUNCTION reviews_partition_sync() RETURNS trigger LANGUAGE plpgsql AS $body$
+        BEGIN
+            IF TG_OP = 'DELETE' OR (TG_OP = 'UPDATE' AND (OLD.id, OLD.entity_type, OLD.entity_id)
+                    IS DISTINCT FROM (NEW.id, NEW.entity_type, NEW.entity_id)) THEN
+                DELETE FROM reviews_partitioned
+                WHERE id = OLD.id AND entity_type = OLD.entity_type AND entity_id = OLD.entity_id;
+            END IF;
+            IF TG_OP IN ('INSERT', 'UPDATE') THEN
+                INSERT INTO reviews_partitioned (%s) VALUES (%s)
+                ON CONFLICT (id, entity_type, entity_id) DO UPDATE SET %s;
+            END IF;
+            RETURN NULL;
+        END
+        $body$
+    $function$, reviews_partition_columns(), reviews_partition_columns('NEW.'), updates);
+
+    CREATE TRIGGER reviews_partition_sync
+        AFTER INSERT OR UPDATE OR DELETE ON reviews
+        FOR EACH ROW EXECUTE FUNCTION reviews_partition_sync();
+END
+$$;
+
+-- Paso 3: Copiar las filas existentes por orden de id, un lote por transacción. Se puede interrumpir y
+-- volver a llamar: continúa desde el último lote confirmado. FOR SHARE bloquea el lote mientras se copia,
+-- así una edición o borrado concurrente se aplica (vía trigger) después de la copia y no se pierde
+CREATE OR REPLACE PROCEDURE reviews_partition_copy(batch_size INTEGER DEFAULT 10000)
+LANGUAGE plpgsql AS $$
+DECLARE
+    column_list TEXT := reviews_partition_columns();
+    from_id BIGINT;
+    batch_max_id BIGINT;
+    batch_rows INTEGER;
+    total BIGINT := 0;
+BEGIN
+    SELECT last_id INTO from_id FROM reviews_partition_copy_state;
+    LOOP
+        EXECUTE format('WITH batch AS (SELECT %1$s FROM reviews WHERE id > $1 ORDER BY id LIMIT $2 FOR SHARE), '
+                       'copied AS (INSERT INTO reviews_partitioned (%1$s) SELECT %1$s FROM batch ON CONFLICT DO NOTHING) '
+                       'SELECT max(id), count(*) FROM batch', column_list)
+            INTO batch_max_id, batch_rows
+            USING from_id, batch_size;
+        EXIT WHEN batch_rows = 0;
+
+        from_id := batch_max_id;
+        total := total + batch_rows;
+        UPDATE reviews_partition_copy_state SET last_id = from_id;
+        COMMIT;
+        RAISE NOTICE 'reviews: % rows copied (up to id %)', total, from_id;
+    END LOOP;
+    UPDATE reviews_partition_copy_state SET done = true;
+    COMMIT;
+END
+$$;
+
+-- Paso 4: Sustituir reviews por la tabla particionada. Las filas posteriores a la copia ya están en ella
+-- gracias al trigger, así que el bloqueo exclusivo solo dura los cambios de nombre
+CREATE OR REPLACE PROCEDURE reviews_partition_swap()
+LANGUAGE plpgsql AS $$
+DECLARE
+    idx RECORD;
+    base_name TEXT;
+BEGIN
+    IF NOT (SELECT done FROM reviews_partition_copy_state) THEN
+        RAISE EXCEPTION 'Copy not finished: run CALL reviews_partition_copy() until it completes';
+    END IF;
+
+    LOCK TABLE reviews IN ACCESS EXCLUSIVE MODE;
+    DROP TRIGGER reviews_partition_sync ON reviews;
+    DROP FUNCTION reviews_partition_sync();
+
+    FOR idx IN
+        SELECT c.relname
+        FROM pg_index i
+        JOIN pg_class c ON c.oid = i.indexrelid
+        WHERE i.indrelid = 'reviews_partitioned'::regclass
+          AND c.relname LIKE '%\_p'
+    LOOP
+        base_name := left(idx.relname, -2);
+        EXECUTE format('ALTER INDEX IF EXISTS %I RENAME TO %I', base_name, base_name || '_unpartitioned');
+        EXECUTE format('ALTER INDEX %I RENAME TO %I', idx.relname, base_name);
+    END LOOP;
+
+    ALTER TABLE reviews RENAME CONSTRAINT reviews_pkey TO reviews_unpartitioned_pkey;
+    ALTER TABLE reviews RENAME CONSTRAINT uk_entity_user TO uk_entity_user_unpartitioned;
+    ALTER TABLE reviews RENAME TO reviews_unpartitioned;
+
+    ALTER TABLE reviews_partitioned RENAME CONSTRAINT reviews_partitioned_pkey TO reviews_pkey;
+    ALTER TABLE reviews_partitioned RENAME CONSTRAINT uk_entity_user_partitioned TO uk_entity_user;
+    ALTER TABLE reviews_partitioned RENAME TO reviews;
+
+    -- La secuencia pertenecía a la tabla antigua: al borrarla se borraría también
+    ALTER SEQUENCE reviews_id_seq OWNED BY reviews.id;
+    DROP TABLE reviews_partition_copy_state;
+    ANALYZE reviews;
+END
+$$;
@@ -0,0 +1,23 @@
+-- Migración para el camino de lectura por proyecciones
+-- Fecha: 16 de octubre de 2026
+--
+-- Se ejecuta fuera de una transacción (V12__add_reviews_covering_index.sql.conf) para crear y borrar los
+-- índices con CONCURRENTLY: la construcción no bloquea las escrituras en reviews. Si falla a medias puede
+-- quedar un índice INVALID; tras "flyway repair" la migración se puede volver a ejecutar, porque empieza
+-- borrándolo. CONCURRENTLY no admite tablas particionadas: aplicar V12 antes de ejecutar el particionado (V11)
+
+-- Paso 1: Índice de cobertura por entidad. Mantiene el orden (created_at, id) descendente del
+-- índice de cursor (V4) e incluye rating y user_id, de modo que los conteos, promedios,
+-- reconstrucciones del resumen y rellenos de tendencias por entidad se resuelven con
+-- index-only scans. Los listados siguen leyendo el heap solo para las filas de la página (comment)
+DROP INDEX CONCURRENTLY IF EXISTS idx_reviews_entity_covering;
+CREATE INDEX CONCURRENTLY idx_reviews_entity_covering ON reviews(entity_type, entity_id, created_at DESC, id DESC)
+INCLUDE (rating, user_id);
+
+-- Paso 2: Eliminar los índices que el nuevo cubre por completo
+-- idx_reviews_entity_created_id: mismas columnas clave, sin INCLUDE
+-- idx_reviews_entity: prefijo (entity_type, entity_id) del nuevo índice
+-- idx_reviews_entity_user: duplicado exacto del índice de uk_entity_user
+DROP INDEX CONCURRENTLY IF EXISTS idx_reviews_entity_created_id;
+DROP INDEX CONCURRENTLY IF EXISTS idx_reviews_entity;
+DROP INDEX CONCURRENTLY IF EXISTS idx_reviews_entity_user;
@@ -0,0 +1,16 @@
+-- Migración para guardar una copia local del perfil público de los autores de reseñas
+-- Fecha: 16 de octubre de 2026
+
+-- Paso 1: Una fila por usuario con reseñas. Se escribe al crear la reseña y se refresca con los
+-- eventos de perfil de admin-users-service; las lecturas ya no consultan ese servicio
+CREATE TABLE review_authors (
+    user_id BIGINT NOT NULL,
+    nombre VARCHAR(255),
+    apellido VARCHAR(255),
+    foto TEXT,
+    updated_at TIMESTAMP NOT NULL,
+    CONSTRAINT pk_review_authors PRIMARY KEY (user_id)
+);
+
+-- Nota: los perfiles viven en admin-users-service, así que las reseñas existentes no se pueden
+-- rellenar desde SQL; lo hace ReviewAuthorBackfillJob (app.reviews.authors.backfill-cron)
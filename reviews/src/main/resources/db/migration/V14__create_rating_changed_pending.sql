@@ -0,0 +1,18 @@
+-- Migración para guardar las entidades con un RatingChanged pendiente de publicar
+-- Fecha: 16 de octubre de 2026
+
+-- Paso 1: Una fila por entidad con cambios de calificación aún sin publicar. Se escribe en la
+-- misma transacción que la reseña, así que un cambio confirmado no se pierde si la instancia cae
+-- antes de publicar; el agrupador la borra en la misma transacción que registra el evento en el outbox
+CREATE TABLE rating_changed_pending (
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    first_marked_at TIMESTAMP NOT NULL,
+    last_marked_at TIMESTAMP NOT NULL,
+    CONSTRAINT pk_rating_changed_pending PRIMARY KEY (entity_type, entity_id)
+);
+
+-- Paso 2: Índices para encontrar las entidades sin cambios durante la ventana o que llevan
+-- esperando más de max-wait-ms
+CREATE INDEX idx_rating_changed_pending_last ON rating_changed_pending(last_marked_at);
+CREATE INDEX idx_rating_changed_pending_first ON rating_changed_pending(first_marked_at);
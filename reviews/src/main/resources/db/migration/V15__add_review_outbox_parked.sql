@@ -0,0 +1,8 @@
+-- Migración para apartar los eventos del outbox que no se pueden publicar
+-- Fecha: 16 de octubre de 2026
+
+-- Paso 1: Momento en que el relay apartó el evento tras app.reviews.outbox.max-attempts intentos fallidos
+-- (p. ej. un payload que ya no se puede deserializar). Las filas apartadas no se vuelven a leer; se revisan
+-- a mano y se reactivan con "UPDATE review_outbox SET parked_at = NULL, attempts = 0 WHERE id = ...".
+-- Columna nula sin DEFAULT: en PostgreSQL solo cambia el catálogo, no reescribe la tabla
+ALTER TABLE review_outbox ADD COLUMN parked_at TIMESTAMP;
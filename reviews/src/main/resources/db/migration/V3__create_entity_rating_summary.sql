@@ -0,0 +1,33 @@
+-- Migración para mantener un resumen de calificaciones por entidad
+-- Fecha: 16 de octubre de 2026
+
+-- Paso 1: Crear la tabla de resumen (una fila por entidad calificada)
+CREATE TABLE entity_rating_summary (
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    review_count BIGINT NOT NULL DEFAULT 0,
+    rating_sum BIGINT NOT NULL DEFAULT 0,
+    one_star BIGINT NOT NULL DEFAULT 0,
+    two_stars BIGINT NOT NULL DEFAULT 0,
+    three_stars BIGINT NOT NULL DEFAULT 0,
+    four_stars BIGINT NOT NULL DEFAULT 0,
+    five_stars BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL,
+    CONSTRAINT pk_entity_rating_summary PRIMARY KEY (entity_type, entity_id)
+);
+
+-- Paso 2: Poblar el resumen con las reseñas existentes
+INSERT INTO entity_rating_summary (entity_type, entity_id, review_count, rating_sum,
+                                   one_star, two_stars, three_stars, four_stars, five_stars, updated_at)
+SELECT entity_type,
+       entity_id,
+       COUNT(*),
+       SUM(rating),
+       COUNT(*) FILTER (WHERE rating = 1),
+       COUNT(*) FILTER (WHERE rating = 2),
+       COUNT(*) FILTER (WHERE rating = 3),
+       COUNT(*) FILTER (WHERE rating = 4),
+       COUNT(*) FILTER (WHERE rating = 5),
+       NOW()
+FROM reviews
+GROUP BY entity_type, entity_id;
@@ -0,0 +1,6 @@
+-- Migración para la paginación por cursor de reseñas por entidad
+-- Fecha: 16 de octubre de 2026
+
+-- Índice compuesto que cubre el filtro por entidad y el orden (created_at, id) descendente,
+-- de modo que cada página busca directamente a partir del cursor sin recorrer las anteriores
+CREATE INDEX idx_reviews_entity_created_id ON reviews(entity_type, entity_id, created_at DESC, id DESC);
@@ -0,0 +1,18 @@
+-- Migración para el outbox transaccional de eventos de reseñas
+-- Fecha: 16 de octubre de 2026
+
+-- Los eventos se escriben en la misma transacción que la reseña y un proceso en segundo
+-- plano los publica en RabbitMQ; las filas se eliminan una vez confirmadas por el broker
+CREATE TABLE review_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    event_type VARCHAR(255) NOT NULL,
+    routing_key VARCHAR(100) NOT NULL,
+    payload TEXT NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL,
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP NOT NULL
+);
+
+-- Índice para que el relay lea los eventos pendientes en orden
+CREATE INDEX idx_review_outbox_next_attempt ON review_outbox(next_attempt_at, id);
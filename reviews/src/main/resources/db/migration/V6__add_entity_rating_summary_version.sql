@@ -0,0 +1,5 @@
+-- Migración para las peticiones condicionales (ETag / Last-Modified) de calificaciones y listados
+-- Fecha: 16 de octubre de 2026
+
+-- Versión de las reseñas de cada entidad: se incrementa con cada creación, edición o eliminación
+ALTER TABLE entity_rating_summary ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,32 @@
+-- Migración para insertar reseñas en lotes JDBC (importación masiva)
+-- Fecha: 16 de octubre de 2026
+
+-- Hibernate reserva los IDs de 50 en 50 (optimizador pooled) en lugar de usar IDENTITY, que obliga a
+-- un INSERT por fila para conocer el ID generado. El mapeo (allocationSize = 50) exige que la secuencia
+-- tenga INCREMENT 50: sin esta migración la aplicación no arranca.
+DO $$
+DECLARE
+    next_id BIGINT;
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema()
+                 AND table_name = 'reviews'
+                 AND column_name = 'id'
+                 AND is_identity = 'YES') THEN
+        -- Esquema creado por Hibernate (ddl-auto) con "GENERATED BY DEFAULT AS IDENTITY": la secuencia
+        -- de la identidad se elimina con ella, así que se crea una propia a continuación del mayor ID.
+        -- El optimizador pooled usa el valor devuelto como límite superior del bloque: empezar en
+        -- max(id) + 50 hace que el primer bloque sea (max(id), max(id) + 50]
+        SELECT COALESCE(MAX(id), 0) + 50 INTO next_id FROM reviews;
+        ALTER TABLE reviews ALTER COLUMN id DROP IDENTITY;
+        EXECUTE format('CREATE SEQUENCE reviews_id_seq INCREMENT BY 50 START WITH %s', next_id);
+        ALTER SEQUENCE reviews_id_seq OWNED BY reviews.id;
+    ELSE
+        -- Esquema de V1 (BIGSERIAL): el siguiente nextval ya avanza 50 desde el último ID usado
+        ALTER SEQUENCE reviews_id_seq INCREMENT BY 50;
+        -- Quitar el DEFAULT nextval de la columna. Con el incremento de 50, un INSERT que usara el
+        -- DEFAULT obtendría un ID dentro de un bloque ya reservado por la aplicación
+        ALTER TABLE reviews ALTER COLUMN id DROP DEFAULT;
+    END IF;
+END
+$$;
@@ -0,0 +1,17 @@
+-- Migración para la búsqueda de texto completo en los comentarios
+-- Fecha: 16 de octubre de 2026
+--
+-- PARADA DE SERVICIO: añadir una columna generada STORED reescribe toda la tabla reviews bajo un bloqueo
+-- ACCESS EXCLUSIVE (ni lecturas ni escrituras) y el índice GIN se construye después en la misma transacción,
+-- bloqueando las escrituras. En tablas grandes dura minutos: aplicar esta migración en una ventana de
+-- mantenimiento, con la aplicación parada, y comprobar antes que hay espacio en disco para una segunda
+-- copia de la tabla.
+
+-- Paso 1: Columna tsvector generada (configuración en español). PostgreSQL la recalcula en cada
+-- INSERT/UPDATE del comentario, así que no hace falta mantenerla desde la aplicación
+ALTER TABLE reviews
+ADD COLUMN comment_tsv tsvector
+GENERATED ALWAYS AS (to_tsvector('spanish', coalesce(comment, ''))) STORED;
+
+-- Paso 2: Índice GIN para las consultas "comment_tsv @@ tsquery"
+CREATE INDEX idx_reviews_comment_tsv ON reviews USING GIN (comment_tsv);
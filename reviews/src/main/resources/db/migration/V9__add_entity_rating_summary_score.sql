@@ -0,0 +1,14 @@
+-- Migración para el ranking de entidades mejor valoradas (leaderboard)
+-- Fecha: 16 de octubre de 2026
+
+-- Paso 1: Media bayesiana de cada entidad, (suma + C * m) / (reseñas + C). Se mantiene junto con los
+-- contadores en cada escritura; C y m son app.reviews.leaderboard.prior-weight y prior-mean
+ALTER TABLE entity_rating_summary ADD COLUMN bayesian_score DOUBLE PRECISION NOT NULL DEFAULT 0;
+
+-- Paso 2: Calcular la puntuación de las filas existentes con los valores por defecto (C = 10, m = 3.0)
+UPDATE entity_rating_summary
+SET bayesian_score = (rating_sum + 10 * 3.0) / (review_count + 10);
+
+-- Paso 3: Índice para leer el ranking de un tipo de entidad en orden, página a página
+CREATE INDEX idx_entity_rating_summary_leaderboard
+    ON entity_rating_summary (entity_type, bayesian_score DESC, entity_id);
@@ -0,0 +1,87 @@
+package com.iwellness.reviews.client;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class DownstreamBulkheadTest {
+
+    @Test
+    @DisplayName("submit - Rejects calls beyond concurrency plus queue capacity")
+    void submit_RejectsWhenFull() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        DownstreamBulkhead bulkhead = new DownstreamBulkhead("users", 1, 1, false, meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            CompletableFuture<String> running = bulkhead.submit(() -> {
+                awaitQuietly(release);
+                return "first";
+            });
+            CompletableFuture<String> queued = bulkhead.submit(() -> "second");
+            CompletableFuture<String> rejected = bulkhead.submit(() -> "third");
+
+            assertThatThrownBy(rejected::get)
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(RejectedExecutionException.class);
+            assertThat(meterRegistry.get("downstream.bulkhead.rejected").tag("name", "users").counter().count())
+                    .isEqualTo(1.0);
+            assertThat(meterRegistry.get("executor.queued").tag("name", "downstream.users").gauge().value())
+                    .isEqualTo(1.0);
+
+            release.countDown();
+            assertThat(running.get()).isEqualTo("first");
+            assertThat(queued.get()).isEqualTo("second");
+        } finally {
+            bulkhead.shutdown();
+        }
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    @DisplayName("submit - With virtual threads, limits running calls with permits and rejects beyond the queue")
+    void submit_VirtualThreads_BoundedByPermits() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        DownstreamBulkhead bulkhead = new DownstreamBulkhead("users", 1, 1, true, meterRegistry);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> running = bulkhead.submit(() -> {
+            started.countDown();
+            awaitQuietly(release);
+            return "first";
+        });
+        started.await();
+        CompletableFuture<String> queued = bulkhead.submit(() -> "second");
+        CompletableFuture<String> rejected = bulkhead.submit(() -> "third");
+
+        assertThatThrownBy(rejected::get)
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+        assertThat(meterRegistry.get("executor.active").tag("name", "downstream.users").gauge().value())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("executor.queued").tag("name", "downstream.users").gauge().value())
+                .isEqualTo(1.0);
+
+        release.countDown();
+        assertThat(running.get()).isEqualTo("first");
+        assertThat(queued.get()).isEqualTo("second");
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.iwellness.reviews.client;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class DownstreamGuardTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private DownstreamBulkhead hedgingExecutor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        hedgingExecutor = new DownstreamBulkhead("users-hedging", 4, 8, false, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hedgingExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("call - Fails fast while the circuit is open")
+    void call_OpenCircuitFailsFast() {
+        CircuitBreaker circuitBreaker = CircuitBreaker.ofDefaults("users");
+        DownstreamGuard guard = new DownstreamGuard("users", circuitBreaker, meterRegistry, null, 50, 1000);
+        AtomicInteger calls = new AtomicInteger();
+
+        circuitBreaker.transitionToOpenState();
+
+        assertThatThrownBy(() -> guard.call(calls::incrementAndGet)).isInstanceOf(CallNotPermittedException.class);
+        assertThat(calls).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("call - A slow first attempt is hedged and the faster answer wins")
+    void call_HedgesSlowAttempt() {
+        DownstreamGuard guard = new DownstreamGuard("users", CircuitBreaker.ofDefaults("users"), meterRegistry,
+                hedgingExecutor, 10, 50);
+        AtomicInteger attempts = new AtomicInteger();
+
+        long start = System.nanoTime();
+        String answer = guard.call(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                sleep(2000);
+                return "slow";
+            }
+            return "fast";
+        });
+
+        assertThat(answer).isEqualTo("fast");
+        assertThat(System.nanoTime() - start).isLessThan(1_000_000_000L);
+        assertThat(meterRegistry.get("downstream.hedged").tag("name", "users").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("call - Fast calls are not hedged")
+    void call_FastCallIsNotHedged() {
+        DownstreamGuard guard = new DownstreamGuard("users", CircuitBreaker.ofDefaults("users"), meterRegistry,
+                hedgingExecutor, 500, 1000);
+
+        assertThat(guard.call(() -> "ok")).isEqualTo("ok");
+        assertThat(meterRegistry.get("downstream.hedged").tag("name", "users").counter().count()).isZero();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,10 +1,14 @@
 package com.iwellness.reviews.controller;
 
+import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -20,16 +24,31 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.iwellness.reviews.client.CorsConfig;
 import com.iwellness.reviews.client.CorsConfigurationProperties;
+import com.iwellness.reviews.exception.InvalidCursorException;
+import com.iwellness.reviews.dto.CursorPageDTO;
+import com.iwellness.reviews.dto.EntityReferenceDTO;
+import com.iwellness.reviews.dto.LeaderboardEntryDTO;
+import com.iwellness.reviews.dto.RatingBatchRequestDTO;
+import com.iwellness.reviews.dto.RatingDTO;
+import com.iwellness.reviews.dto.RatingTrendDTO;
+import com.iwellness.reviews.dto.ReviewImportReportDTO;
 import com.iwellness.reviews.dto.ReviewRequestDTO;
 import com.iwellness.reviews.dto.ReviewResponseDTO;
 import com.iwellness.reviews.model.EntityType;
+import com.iwellness.reviews.model.EntityVersion;
+import com.iwellness.reviews.model.ExportFormat;
+import com.iwellness.reviews.model.ReviewExportFilter;
+import com.iwellness.reviews.model.TrendGranularity;
+import com.iwellness.reviews.service.ReviewExportService;
+import com.iwellness.reviews.service.ReviewImportService;
 import com.iwellness.reviews.service.ReviewService;
 
-@WebMvcTest(ReviewController.class)
+@WebMvcTest(controllers = ReviewController.class, properties = "app.reviews.admin-user-ids=1,2")
 @Import({CorsConfig.class, CorsConfigurationProperties.class})
 class ReviewControllerTest {
 
@@ -39,11 +58,18 @@ class ReviewControllerTest {
     @MockBean
     private ReviewService reviewService;
 
+    @MockBean
+    private ReviewImportService reviewImportService;
+
+    @MockBean
+    private ReviewExportService reviewExportService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
     private ReviewRequestDTO validRequest;
     private ReviewResponseDTO validResponse;
+    private EntityVersion entityVersion;
 
     @BeforeEach
     void setUp() {
@@ -64,6 +90,9 @@ class ReviewControllerTest {
                 .comment("Excellent service!")
                 .createdAt(LocalDateTime.now())
                 .build();
+
+        entityVersion = new EntityVersion(3L, LocalDateTime.of(2026, 10, 16, 12, 0));
+        when(reviewService.getEntityVersion(anyLong(), anyString())).thenReturn(entityVersion);
     }
 
     @Test
@@ -135,4 +164,339 @@ class ReviewControllerTest {
                 .andExpect(jsonPath("$.content").isArray())
                 .andExpect(jsonPath("$.content.length()").value(1));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("POST /api/reviews/ratings/batch - Success")
+    void getRatingsBatch_Success() throws Exception {
+        RatingBatchRequestDTO request = RatingBatchRequestDTO.builder()
+                .entities(List.of(
+                        new EntityReferenceDTO(EntityType.SERVICE, 1L),
+                        new EntityReferenceDTO(EntityType.PROVIDER, 7L)))
+                .build();
+        when(reviewService.getRatingsByEntities(anyList())).thenReturn(List.of(
+                RatingDTO.builder().entityType("SERVICE").entityId(1L).averageRating(4.5).totalReviews(2L).build(),
+                RatingDTO.builder().entityType("PROVIDER").entityId(7L).averageRating(0.0).totalReviews(0L).build()));
+
+        mockMvc.perform(post("/api/reviews/ratings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].averageRating").value(4.5))
+                .andExpect(jsonPath("$[1].entityId").value(7));
+    }
+
+    @Test
+    @DisplayName("POST /api/reviews/ratings/batch - Empty list")
+    void getRatingsBatch_EmptyList_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/reviews/ratings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"entities\": []}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(reviewService);
+    }
+
+    @Test
+    @DisplayName("GET /api/reviews/entity/{type}/{id}?cursor= - Cursor mode")
+    void getReviewsByEntityCursor_Success() throws Exception {
+        CursorPageDTO<ReviewResponseDTO> page = CursorPageDTO.<ReviewResponseDTO>builder()
+                .content(List.of(validResponse))
+                .size(1)
+                .nextCursor("abc")
+                .hasNext(true)
+                .build();
+        when(reviewService.getReviewsByEntityCursor(1L, "SERVICE", "", 1)).thenReturn(page);
+
+        mockMvc.perform(get("/api/reviews/entity/SERVICE/1")
+                        .param("cursor", "")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.nextCursor").value("abc"))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+        verify(reviewService, never()).getReviewsByEntity(anyLong(), anyString(), anyInt(), anyInt(), anyString());
+    }
+
+    @Test
+    @DisplayName("GET /api/reviews/entity/{type}/{id}?cursor=bad - Invalid cursor")
+    void getReviewsByEntityCursor_InvalidCursor_ReturnsBadRequest() throws Exception {
+        when(reviewService.getReviewsByEntityCursor(anyLong(), anyString(), eq("bad"), anyInt()))
+                .thenThrow(new InvalidCursorException("Invalid cursor: bad"));
+
+        mockMvc.perform(get("/api/reviews/entity/SERVICE/1").param("cursor", "bad"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/reviews/entity/{type}/{id}?cursor= - Size above the maximum returns 400 with an error body")
+    void getReviewsByEntityCursor_SizeTooLarge_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/reviews/entity/SERVICE/1")
+                        .param("cursor", "")
+                        .param("size", "101"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.message").value("El tamaño de página debe estar entre 1 y 100"));
+
+        verify(reviewService, never()).getReviewsByEntityCursor(anyLong(), anyString(), anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("GET /api/reviews/entity/{type}/{id}/rating - Matching ETag returns 304 without reading the rating")
+    void getEntityRating_MatchingETag_ReturnsNotModified() throws Exception {
+        mockMvc.perform(get("/api/reviews/entity/SERVICE/1/rating")
+                        .header("If-None-Match", entityVersion.eTag()))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(reviewService, never()).getRatingByEntity(anyLong(), anyString());
+    }
+
+    @Test
+    @DisplayName("GET /api/reviews/entity/{type}/{id}/recent - Matching ETag still returns the list (authors may have changed)")
+    void getRecentReviews_MatchingETag_ReturnsList() throws Exception {
+        when(reviewService.getRecentReviewsByEntity(1L, "SERVICE", 5)).thenReturn(List.of(validResponse));
+
+        mockMvc.perform(get("/api/reviews/entity/SERVICE/1/recent")
+                        .header("If-None-Match", entityVersion.eTag()))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    @DisplayName("GET /api/reviews/entity/{type}/{id} - If-Modified-Since does not return 304 for lists with authors")
+    void getReviewsByEntity_IfModifiedSince_ReturnsPage() throws Exception {
+        when(reviewService.getReviewsByEntity(1L, "SERVICE", 0, 10, "createdAt"))
+                .thenReturn(new PageImpl<>(List.of(validResponse), PageRequest.of(0, 10), 1));
+
+        mockMvc.perform(get("/api/reviews/entity/SERVICE/1")
+                        .header("If-Modified-Since", entityVersion.lastModified()))
+                .andExpect(status().isOk());
+
+        verify(reviewService, never()).getEntityVersion(anyLong(), anyString());
+    }
+
+    @Test
+    @DisplayName("POST /api/reviews/import - Admin user imports the stream")
+    void importReviews_Admin_ReturnsReport() throws Exception {
+        when(reviewImportService.importReviews(any())).thenReturn(ReviewImportReportDTO.builder()
+                .received(1)
+                .imported(1)
+                .errors(List.of())
+                .build());
+
+        mockMvc.perform(post("/api/reviews/import")
+                        .header("X-User-Id", "1")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"entityType\":\"SERVICE\",\"entityId\":1,\"userId\":100,\"rating\":5}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1));
+    }
+
+    @Test
+    @DisplayName("POST /api/reviews/import - Non-admin user returns 403")
+    void importReviews_NotAdmin_ReturnsForbidden() throws Exception {
+        mockMvc.perform(post("/api/reviews/import")
+                        .header("X-User-Id", "100")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"entityType\":\"SERVICE\",\"entityId\":1,\"userId\":100,\"rating\":5}\n"))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.error").value("Forbidden"));
+
+        verifyNoInteractions(reviewImportService);
+    }
+
+    @Test
+    @DisplayName("POST /api/reviews/import - Missing user header returns 400")
+    void importReviews_MissingUserHeader_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/reviews/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{}\n"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(reviewImportService);
+    }
+
+    @Test
+    @DisplayName("GET /api/reviews/export - Streams the export as an attachment")
+    void exportReviews_StreamsCsv() throws Exception {
+        when(reviewExportService.export(any(), eq(ExportFormat.CSV), any())).thenAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(2).write("id\n1\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+
+        MvcResult result = mockMvc.perform(get("/api/reviews/export")
+                        .header("X-User-Id", "2")
+                        .param("format", "csv")
+                        .param("entityType", "service")
+                        .param("entityId", "1")
+                        .param("from", "2026-01-01T00:00:00"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        // Timeout propio de la exportación (app.reviews.export.timeout-ms), no el general
+        assertThat(result.getRequest().getAsyncContext().getTimeout()).isEqualTo(1800000L);
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"reviews-export.csv\""))
+                .andExpect(content().string("id\n1\n"));
+        verify(reviewExportService).export(
+                eq(ReviewExportFilter.of("SERVICE", 1L, null, LocalDateTime.of(2026, 1, 1, 0, 0), null)),
+                eq(ExportFormat.CSV), any());
+    }
+
+    @Test
+    @DisplayName("GET /api/reviews/export - entityId without entityType returns 400")
+    void exportReviews_InvalidFilter_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/reviews/export").header("X-User-Id", "1").param("entityId", "1"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(reviewExportService);
+    }
+
+    @Test
+    @DisplayName("GET /api/reviews/export - Non-admin user returns 403")
+    void exportReviews_NotAdmin_ReturnsForbidden() throws Exception {
+        mockMvc.perform(get("/api/reviews/export").header("X-User-Id", "100"))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.error").value("Forbidden"));
+
+        verifyNoInteractions(reviewExportService);
+    }
+
+    @Test
+    @DisplayName("GET /api/reviews/export - Missing user header returns 400")
+    void exportReviews_MissingUserHeader_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/reviews/export"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(reviewExportService);
+    }
+
+    @Test
+    @DisplayName("GET /api/reviews/entity/{type}/{id}/search - Blank query returns 400")
+    void searchReviews_BlankQuery_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/reviews/entity/SERVICE/1/search").param("q", "  "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Bad Request"))
+                .andExpect(jsonPath("$.message").exists());
+
+        verify(reviewService, never()).searchReviewsByEntity(anyLong(), anyString(), anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("GET /api/reviews/entity/{type}/{id}/search - Size above the maximum returns 400 with an error body")
+    void searchReviews_SizeTooLarge_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/reviews/entity/SERVICE/1/search")
+                        .param("q", "spa")
+                        .param("size", "1000"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("El tamaño de página debe estar entre 1 y 100"));
+
+        verify(reviewService, never()).searchReviewsByEntity(anyLong(), anyString(), anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("GET /api/reviews/leaderboard/{type} - Returns the ranked page")
+    void getLeaderboard_ReturnsRankedPage() throws Exception {
+        LeaderboardEntryDTO entry = LeaderboardEntryDTO.builder()
+                .rank(1).entityType("SERVICE").entityId(7L).score(4.6).averageRating(4.8).totalReviews(250L).build();
+        when(reviewService.getLeaderboard("SERVICE", 0, 10))
+                .thenReturn(new PageImpl<>(List.of(entry), PageRequest.of(0, 10), 1));
+
+        mockMvc.perform(get("/api/reviews/leaderboard/service"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].rank").value(1))
+                .andExpect(jsonPath("$.content[0].entityId").value(7))
+                .andExpect(jsonPath("$.content[0].score").value(4.6));
+    }
+
+    @Test
+    @DisplayName("GET /api/reviews/leaderboard/{type} - Unknown entity type returns 400")
+    void getLeaderboard_UnknownType_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/reviews/leaderboard/HOTEL"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Tipo de entidad desconocido: HOTEL"));
+
+        verify(reviewService, never()).getLeaderboard(anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("GET /api/reviews/leaderboard/{type} - Negative page returns 400 with an error body")
+    void getLeaderboard_NegativePage_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/reviews/leaderboard/service").param("page", "-1"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("El número de página no puede ser negativo"));
+
+        verify(reviewService, never()).getLeaderboard(anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("GET /api/reviews/entity/{type}/{id}/trends - Returns the series for the range")
+    void getRatingTrend_ReturnsSeries() throws Exception {
+        RatingTrendDTO trend = RatingTrendDTO.builder()
+                .entityType("SERVICE").entityId(1L).granularity("WEEK")
+                .points(List.of(RatingTrendDTO.TrendPoint.builder()
+                        .bucketStart(LocalDate.of(2026, 1, 5)).granularity("WEEK").averageRating(4.5).totalReviews(2L).build()))
+                .build();
+        when(reviewService.getRatingTrend(1L, "SERVICE", LocalDate.of(2026, 1, 1), LocalDate.of(2026, 2, 1),
+                TrendGranularity.WEEK)).thenReturn(trend);
+
+        mockMvc.perform(get("/api/reviews/entity/SERVICE/1/trends")
+                        .param("from", "2026-01-01").param("to", "2026-02-01").param("granularity", "week"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.points[0].bucketStart").value("2026-01-05"))
+                .andExpect(jsonPath("$.points[0].averageRating").value(4.5));
+    }
+
+    @Test
+    @DisplayName("GET /api/reviews/entity/{type}/{id}/trends - Empty range returns 400")
+    void getRatingTrend_EmptyRange_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/reviews/entity/SERVICE/1/trends")
+                        .param("from", "2026-02-01").param("to", "2026-02-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Bad Request"))
+                .andExpect(jsonPath("$.message").exists());
+
+        verify(reviewService, never()).getRatingTrend(anyLong(), anyString(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("GET /api/reviews/entity/{type}/{id}/trends - Unknown granularity returns 400 with an error body")
+    void getRatingTrend_UnknownGranularity_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/reviews/entity/SERVICE/1/trends").param("granularity", "year"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Granularidad no válida: year"));
+
+        verify(reviewService, never()).getRatingTrend(anyLong(), anyString(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("GET /api/reviews/entity/{type}/{id}/trends - Fixed range with a matching ETag returns 304")
+    void getRatingTrend_FixedRangeMatchingETag_ReturnsNotModified() throws Exception {
+        mockMvc.perform(get("/api/reviews/entity/SERVICE/1/trends")
+                        .param("from", "2026-01-01").param("to", "2026-02-01")
+                        .header("If-None-Match", entityVersion.eTag()))
+                .andExpect(status().isNotModified());
+
+        verify(reviewService, never()).getRatingTrend(anyLong(), anyString(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("GET /api/reviews/entity/{type}/{id}/trends - Default range ignores the ETag, it ends today")
+    void getRatingTrend_DefaultRangeMatchingETag_ReturnsSeries() throws Exception {
+        LocalDate to = LocalDate.now().plusDays(1);
+        when(reviewService.getRatingTrend(1L, "SERVICE", to.minusYears(1), to, TrendGranularity.MONTH))
+                .thenReturn(RatingTrendDTO.builder().entityType("SERVICE").entityId(1L).granularity("MONTH")
+                        .points(List.of()).build());
+
+        mockMvc.perform(get("/api/reviews/entity/SERVICE/1/trends")
+                        .header("If-None-Match", entityVersion.eTag()))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"));
+
+        verify(reviewService, never()).getEntityVersion(anyLong(), anyString());
+    }
+}
@@ -0,0 +1,124 @@
+package com.iwellness.reviews.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.iwellness.reviews.config.RequestContextTaskDecorator;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+    @Mock
+    private HikariDataSource replica1;
+    @Mock
+    private HikariDataSource replica2;
+    @Mock
+    private Connection primaryConnection;
+    @Mock
+    private Connection replicaConnection;
+
+    private ReplicaRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new ReplicaRoutingDataSource(primary, List.of(replica1, replica2), 60000L, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReplicaRoutingDataSource.clearPin();
+    }
+
+    @Test
+    @DisplayName("getConnection - Read-write transactions go to the primary")
+    void getConnection_ReadWrite_UsesPrimary() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        verifyNoInteractions(replica1, replica2);
+    }
+
+    @Test
+    @DisplayName("getConnection - Read-only transactions go to a replica")
+    void getConnection_ReadOnly_UsesReplica() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(replica1.getConnection()).thenReturn(replicaConnection);
+
+        assertThat(dataSource.getConnection()).isSameAs(replicaConnection);
+        verifyNoInteractions(primary);
+    }
+
+    @Test
+    @DisplayName("getConnection - Skips a failing replica and falls back to the primary")
+    void getConnection_ReplicasDown_FallsBackToPrimary() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(replica1.getConnection()).thenThrow(new SQLException("timeout"));
+        when(replica2.getConnection()).thenThrow(new SQLException("timeout"));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+
+        // Las réplicas caídas no se vuelven a probar hasta que pasa retry-after
+        verify(replica1, times(1)).getConnection();
+        verify(replica2, times(1)).getConnection();
+    }
+
+    @Test
+    @DisplayName("getConnection - A pinned thread reads from the primary")
+    void getConnection_Pinned_UsesPrimary() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        ReplicaRoutingDataSource.pinToPrimary();
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        verifyNoInteractions(replica1, replica2);
+    }
+
+    @Test
+    @DisplayName("getConnection - Explicit credentials are passed to the chosen target")
+    void getConnection_WithCredentials_UsesChosenTarget() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(replica1.getConnection("reader", "secret")).thenReturn(replicaConnection);
+
+        assertThat(dataSource.getConnection("reader", "secret")).isSameAs(replicaConnection);
+        verifyNoInteractions(primary);
+    }
+
+    @Test
+    @DisplayName("decorate - The read-your-writes pin follows the task to the bulkhead thread")
+    void decoratedTask_KeepsPin() {
+        ReplicaRoutingDataSource.pinToPrimary();
+        AtomicBoolean pinnedInTask = new AtomicBoolean();
+        Runnable task = new RequestContextTaskDecorator().decorate(
+                () -> pinnedInTask.set(ReplicaRoutingDataSource.isPinnedToPrimary()));
+        ReplicaRoutingDataSource.clearPin();
+
+        task.run();
+
+        assertThat(pinnedInTask).isTrue();
+        assertThat(ReplicaRoutingDataSource.isPinnedToPrimary()).isFalse();
+    }
+}
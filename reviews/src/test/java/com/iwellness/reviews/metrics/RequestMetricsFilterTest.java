@@ -0,0 +1,89 @@
+package com.iwellness.reviews.metrics;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.iwellness.reviews.config.FeignClientInterceptor;
+import com.iwellness.reviews.config.RequestContextTaskDecorator;
+
+import feign.RequestTemplate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+
+class RequestMetricsFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestMetricsFilter filter = new RequestMetricsFilter(meterRegistry);
+    private final SqlStatementCounter sqlStatementCounter = new SqlStatementCounter();
+    private final DownstreamCallCounter downstreamCallCounter = new DownstreamCallCounter();
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("doFilter - Records SQL statements and downstream calls per endpoint")
+    void doFilter_RecordsPerRequestCounts() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/reviews/service/1");
+        FilterChain chain = (req, res) -> {
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes((HttpServletRequest) req));
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/reviews/service/{serviceId}");
+            sqlStatementCounter.inspect("select 1");
+            sqlStatementCounter.inspect("select 2");
+            downstreamCallCounter.apply(new RequestTemplate());
+        };
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(meterRegistry.get("reviews.request.sql.statements")
+                .tag("uri", "/api/reviews/service/{serviceId}").summary().totalAmount()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("reviews.request.downstream.calls")
+                .tag("method", "GET").summary().totalAmount()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("decorate - A bulkhead task that runs after the request completed still counts and forwards headers")
+    void decoratedTask_RunsAfterRequestCompleted() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/reviews/service/1");
+        request.addHeader("Authorization", "Bearer token");
+        FeignClientInterceptor feignClientInterceptor = new FeignClientInterceptor();
+        RequestTemplate template = new RequestTemplate();
+        AtomicReference<ServletRequestAttributes> attributes = new AtomicReference<>();
+        AtomicReference<Runnable> lateLookup = new AtomicReference<>();
+        FilterChain chain = (req, res) -> {
+            attributes.set(new ServletRequestAttributes((HttpServletRequest) req));
+            RequestContextHolder.setRequestAttributes(attributes.get());
+            lateLookup.set(new RequestContextTaskDecorator().decorate(() -> {
+                feignClientInterceptor.apply(template);
+                downstreamCallCounter.apply(template);
+            }));
+        };
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        attributes.get().requestCompleted();
+        RequestContextHolder.resetRequestAttributes();
+
+        assertThatCode(() -> lateLookup.get().run()).doesNotThrowAnyException();
+        assertThat(template.headers().get("Authorization")).containsExactly("Bearer token");
+        assertThat(RequestMetrics.current()).isNull();
+    }
+
+    @Test
+    @DisplayName("inspect - Outside a request the statement is left untouched and not counted")
+    void inspect_OutsideRequest() {
+        assertThat(sqlStatementCounter.inspect("select 1")).isEqualTo("select 1");
+        assertThat(meterRegistry.find("reviews.request.sql.statements").summary()).isNull();
+    }
+}
@@ -0,0 +1,139 @@
+package com.iwellness.reviews.publisher;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.iwellness.reviews.entity.OutboxEvent;
+import com.iwellness.reviews.event.ReviewCreatedEvent;
+import com.iwellness.reviews.repository.OutboxEventRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+    @Mock
+    private RabbitOperations rabbitOperations;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private OutboxRelay outboxRelay;
+    private OutboxEvent outboxEvent;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        outboxRelay = new OutboxRelay(outboxEventRepository, rabbitTemplate, objectMapper, transactionTemplate, meterRegistry);
+        ReflectionTestUtils.setField(outboxRelay, "exchangeName", "message_exchange");
+        ReflectionTestUtils.setField(outboxRelay, "batchSize", 10);
+        ReflectionTestUtils.setField(outboxRelay, "confirmTimeoutMillis", 1000L);
+        ReflectionTestUtils.setField(outboxRelay, "retryBaseDelayMillis", 60000L);
+        ReflectionTestUtils.setField(outboxRelay, "retryMaxDelayMillis", 600000L);
+        ReflectionTestUtils.setField(outboxRelay, "maxAttempts", 3);
+
+        ReviewCreatedEvent event = ReviewCreatedEvent.builder().reviewId(1L).userId(100L).rating(5).build();
+        outboxEvent = OutboxEvent.builder()
+                .id(1L)
+                .eventType(ReviewCreatedEvent.class.getName())
+                .routingKey("review.created")
+                .payload(objectMapper.writeValueAsString(event))
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+        when(outboxEventRepository.findReadyToPublish(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(outboxEvent));
+    }
+
+    @Test
+    @DisplayName("publishBatch - Sends, waits for confirms and deletes the rows")
+    void publishBatch_Success() {
+        when(rabbitTemplate.invoke(any())).thenAnswer(invocation ->
+                invocation.<RabbitOperations.OperationsCallback<?>>getArgument(0).doInRabbit(rabbitOperations));
+
+        int drained = outboxRelay.publishBatch();
+
+        assertThat(drained).isEqualTo(1);
+        verify(rabbitOperations).convertAndSend(eq("message_exchange"), eq("review.created"), any(ReviewCreatedEvent.class));
+        verify(rabbitOperations).waitForConfirmsOrDie(1000L);
+        verify(outboxEventRepository).deleteAllInBatch(List.of(outboxEvent));
+        assertThat(meterRegistry.get("reviews.outbox.publish").tag("outcome", "success").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("reviews.outbox.events").tag("routingKey", "review.created").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("publishBatch - Broker failure keeps the row first in line and reports nothing published")
+    void publishBatch_BrokerFailure_KeepsOrder() {
+        LocalDateTime nextAttemptAt = outboxEvent.getNextAttemptAt();
+        when(rabbitTemplate.invoke(any())).thenThrow(new AmqpException("broker down"));
+
+        int published = outboxRelay.publishBatch();
+
+        assertThat(published).isZero();
+        verify(outboxEventRepository, never()).deleteAllInBatch(any());
+        assertThat(outboxEvent.getAttempts()).isEqualTo(1);
+        assertThat(outboxEvent.getNextAttemptAt()).isEqualTo(nextAttemptAt);
+        assertThat(outboxEvent.getLastError()).contains("broker down");
+        assertThat(meterRegistry.get("reviews.outbox.publish").tag("outcome", "failure").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("relay - Stops draining after a broker failure and backs off before the next run")
+    void relay_BrokerFailure_StopsDraining() {
+        ReflectionTestUtils.setField(outboxRelay, "batchSize", 1);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(rabbitTemplate.invoke(any())).thenThrow(new AmqpException("broker down"));
+
+        outboxRelay.relay();
+        outboxRelay.relay();
+
+        // Un solo lote: ni se pasa al siguiente ni se reintenta antes del backoff
+        verify(rabbitTemplate, times(1)).invoke(any());
+    }
+
+    @Test
+    @DisplayName("publishBatch - An unreadable row is parked after max-attempts")
+    void publishBatch_UnreadableRow_ParkedAfterMaxAttempts() {
+        outboxEvent.setPayload("{not json");
+        outboxEvent.setAttempts(1);
+
+        assertThat(outboxRelay.publishBatch()).isZero();
+        assertThat(outboxEvent.getParkedAt()).isNull();
+        assertThat(outboxEvent.getNextAttemptAt()).isAfter(LocalDateTime.now());
+
+        outboxRelay.publishBatch();
+
+        assertThat(outboxEvent.getAttempts()).isEqualTo(3);
+        assertThat(outboxEvent.getParkedAt()).isNotNull();
+        verifyNoInteractions(rabbitTemplate);
+        assertThat(meterRegistry.get("reviews.outbox.events").tag("outcome", "parked").counter().count())
+                .isEqualTo(1.0);
+    }
+}
@@ -0,0 +1,114 @@
+package com.iwellness.reviews.publisher;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.iwellness.reviews.dto.RatingDTO;
+import com.iwellness.reviews.entity.RatingChangedPending;
+import com.iwellness.reviews.repository.RatingChangedPendingRepository;
+import com.iwellness.reviews.service.RatingSummaryService;
+
+@ExtendWith(MockitoExtension.class)
+class RatingChangedCoalescerTest {
+
+    @Mock
+    private RatingChangedPendingRepository pendingRepository;
+    @Mock
+    private RatingSummaryService ratingSummaryService;
+    @Mock
+    private ReviewEventPublisher reviewEventPublisher;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private RatingChangedCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        coalescer = new RatingChangedCoalescer(pendingRepository, ratingSummaryService, reviewEventPublisher,
+                transactionTemplate, 2000L, 10000L, 2);
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    @DisplayName("markChanged - Records the mark in the writer's transaction")
+    void markChanged_RecordsPendingMark() {
+        coalescer.markChanged("SERVICE", 1L);
+
+        verify(pendingRepository).mark(eq("SERVICE"), eq(1L), any(LocalDateTime.class));
+        verifyNoInteractions(reviewEventPublisher);
+    }
+
+    @Test
+    @DisplayName("flush - Publishes entities quiet for the window or waiting past max-wait")
+    void flush_UsesDebounceWindowAndMaxWait() {
+        LocalDateTime before = LocalDateTime.now();
+        when(pendingRepository.findDue(any(), any(), any())).thenReturn(List.of());
+
+        coalescer.flush();
+
+        ArgumentCaptor<LocalDateTime> quietSince = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> waitingSince = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(pendingRepository).findDue(quietSince.capture(), waitingSince.capture(), any(Pageable.class));
+        assertThat(quietSince.getValue()).isBetween(before.minusSeconds(2), LocalDateTime.now().minusSeconds(2));
+        assertThat(waitingSince.getValue()).isBetween(before.minusSeconds(10), LocalDateTime.now().minusSeconds(10));
+        verifyNoInteractions(reviewEventPublisher);
+    }
+
+    @Test
+    @DisplayName("flush - Publishes one event per pending entity and removes the marks in the same transaction")
+    void flush_PublishesAndRemovesMarks() {
+        RatingChangedPending service = pending("SERVICE", 1L);
+        RatingChangedPending provider = pending("PROVIDER", 2L);
+        RatingChangedPending other = pending("SERVICE", 3L);
+        when(pendingRepository.findDue(any(), any(), any()))
+                .thenReturn(List.of(service, provider), List.of(other));
+        RatingDTO rating = RatingDTO.builder().entityType("SERVICE").entityId(1L).averageRating(4.5).totalReviews(2L).build();
+        when(ratingSummaryService.getRating(any(), any())).thenReturn(rating);
+
+        coalescer.flush();
+
+        verify(reviewEventPublisher, times(3)).publishRatingChanged(rating);
+        verify(transactionTemplate, times(2)).execute(any());
+        InOrder inOrder = inOrder(reviewEventPublisher, pendingRepository);
+        inOrder.verify(reviewEventPublisher, times(2)).publishRatingChanged(rating);
+        inOrder.verify(pendingRepository).deleteAll(List.of(service, provider));
+    }
+
+    @Test
+    @DisplayName("flush - A failed publish keeps the marks for the next pass")
+    void flush_PublishFails_KeepsMarks() {
+        when(pendingRepository.findDue(any(), any(), any())).thenReturn(List.of(pending("SERVICE", 1L)));
+        when(ratingSummaryService.getRating("SERVICE", 1L)).thenThrow(new IllegalStateException("db down"));
+
+        assertThatCode(() -> coalescer.flush()).doesNotThrowAnyException();
+
+        verify(pendingRepository, never()).deleteAll(any());
+    }
+
+    private static RatingChangedPending pending(String entityType, Long entityId) {
+        LocalDateTime now = LocalDateTime.now();
+        return RatingChangedPending.builder()
+                .entityType(entityType)
+                .entityId(entityId)
+                .firstMarkedAt(now)
+                .lastMarkedAt(now)
+                .build();
+    }
+}
@@ -0,0 +1,64 @@
+package com.iwellness.reviews.repository;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class FullTextSearchSupportTest {
+
+    @Mock
+    private DataSource dataSource;
+    @Mock
+    private Connection connection;
+    @Mock
+    private DatabaseMetaData metaData;
+    @Mock
+    private ResultSet columns;
+
+    @Test
+    @DisplayName("isAvailable - A failed check falls back to LIKE and is retried on the next call")
+    void isAvailable_ConnectionFails_RetriesNextCall() throws Exception {
+        when(dataSource.getConnection())
+                .thenThrow(new SQLException("Connection refused"))
+                .thenReturn(connection);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.getDatabaseProductName()).thenReturn("PostgreSQL");
+        when(metaData.getColumns(isNull(), isNull(), eq("reviews"), eq("comment_tsv"))).thenReturn(columns);
+        when(columns.next()).thenReturn(true);
+        FullTextSearchSupport support = new FullTextSearchSupport(dataSource);
+
+        assertThat(support.isAvailable()).isFalse();
+        assertThat(support.isAvailable()).isTrue();
+        assertThat(support.isAvailable()).isTrue();
+
+        verify(dataSource, times(2)).getConnection();
+    }
+
+    @Test
+    @DisplayName("isAvailable - A database without the column is checked only once")
+    void isAvailable_NotPostgres_CachesResult() throws Exception {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.getDatabaseProductName()).thenReturn("H2");
+        FullTextSearchSupport support = new FullTextSearchSupport(dataSource);
+
+        assertThat(support.isAvailable()).isFalse();
+        assertThat(support.isAvailable()).isFalse();
+
+        verify(dataSource).getConnection();
+    }
+}
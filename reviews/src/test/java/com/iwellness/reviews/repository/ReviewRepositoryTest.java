@@ -9,6 +9,7 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.testcontainers.containers.PostgreSQLContainer;
@@ -16,6 +17,7 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import com.iwellness.reviews.entity.Review;
+import com.iwellness.reviews.model.ReviewView;
 
 @DataJpaTest
 @Testcontainers
@@ -81,6 +83,23 @@ class ReviewRepositoryTest {
         assertThat(page.getTotalElements()).isEqualTo(2);
     }
 
+    @Test
+    @DisplayName("Should page entity reviews as projections with the requested sort")
+    void shouldFindReviewViewsByEntity() {
+        reviewRepository.save(Review.builder().entityType("SERVICE").entityId(1L).serviceId(1L).userId(1L).rating(3)
+                .comment("Correcto").build());
+        reviewRepository.save(Review.builder().entityType("SERVICE").entityId(1L).serviceId(1L).userId(2L).rating(5)
+                .comment("Excelente").build());
+        reviewRepository.save(Review.builder().entityType("PROVIDER").entityId(10L).userId(3L).rating(5).build());
+
+        Page<ReviewView> page = reviewRepository.findViewsByEntity("SERVICE", 1L,
+                PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "rating")));
+
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent()).extracting(ReviewView::getUserId, ReviewView::getComment)
+                .containsExactly(tuple(2L, "Excelente"));
+    }
+
     @Test
     @DisplayName("Should prevent duplicate reviews via unique constraint")
     void shouldPreventDuplicateReviews() {
@@ -104,4 +123,22 @@ class ReviewRepositoryTest {
                 .isInstanceOf(Exception.class)
                 .hasMessageContaining("constraint");
     }
+
+    @Test
+    @DisplayName("Should rank full-text matches over comments with Spanish stemming")
+    void shouldSearchCommentsWithFullText() {
+        reviewRepository.save(Review.builder().entityType("SERVICE").entityId(1L).userId(1L).rating(5)
+                .comment("Excelente limpieza, la limpieza de las habitaciones impecable").build());
+        reviewRepository.save(Review.builder().entityType("SERVICE").entityId(1L).userId(2L).rating(3)
+                .comment("Buen precio pero poca limpieza").build());
+        reviewRepository.save(Review.builder().entityType("SERVICE").entityId(1L).userId(3L).rating(4)
+                .comment("Personal amable").build());
+        reviewRepository.save(Review.builder().entityType("SERVICE").entityId(2L).userId(1L).rating(2)
+                .comment("Sin limpieza").build());
+
+        Page<Review> page = reviewRepository.searchByEntityFullText("SERVICE", 1L, "limpiezas", PageRequest.of(0, 10));
+
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent()).extracting(Review::getUserId).containsExactly(1L, 2L);
+    }
 }
@@ -0,0 +1,139 @@
+package com.iwellness.reviews.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import com.iwellness.reviews.dto.EntityReferenceDTO;
+import com.iwellness.reviews.dto.LeaderboardEntryDTO;
+import com.iwellness.reviews.dto.RatingDTO;
+import com.iwellness.reviews.entity.EntityRatingSummary;
+import com.iwellness.reviews.entity.EntityRatingSummaryId;
+import com.iwellness.reviews.model.EntityType;
+import com.iwellness.reviews.model.RatingDelta;
+import com.iwellness.reviews.publisher.RatingChangedCoalescer;
+import com.iwellness.reviews.repository.EntityRatingSummaryRepository;
+
+@ExtendWith(MockitoExtension.class)
+class RatingSummaryServiceTest {
+
+    @Mock
+    private EntityRatingSummaryRepository summaryRepository;
+
+    @Mock
+    private RatingChangedCoalescer ratingChangedCoalescer;
+
+    @InjectMocks
+    private RatingSummaryService ratingSummaryService;
+
+    @Test
+    @DisplayName("applyDelta - Creates the summary row on the first review")
+    void applyDelta_CreatesMissingRow() {
+        RatingDelta delta = RatingDelta.added(4);
+        when(summaryRepository.applyDelta(eq("SERVICE"), eq(1L), eq(delta), anyDouble(), anyDouble(), any())).thenReturn(0, 1);
+
+        ratingSummaryService.applyDelta("SERVICE", 1L, delta);
+
+        InOrder inOrder = inOrder(summaryRepository);
+        inOrder.verify(summaryRepository).applyDelta(eq("SERVICE"), eq(1L), eq(delta), anyDouble(), anyDouble(), any());
+        inOrder.verify(summaryRepository).insertEmptyIfAbsent(eq("SERVICE"), eq(1L), any());
+        inOrder.verify(summaryRepository).applyDelta(eq("SERVICE"), eq(1L), eq(delta), anyDouble(), anyDouble(), any());
+        verify(ratingChangedCoalescer).markChanged("SERVICE", 1L);
+    }
+
+    @Test
+    @DisplayName("applyDelta - Does not schedule an event when the rating did not change")
+    void applyDelta_EmptyDeltaSkipsEvent() {
+        when(summaryRepository.applyDelta(any(), any(), any(), anyDouble(), anyDouble(), any())).thenReturn(1);
+
+        ratingSummaryService.applyDelta("SERVICE", 1L, RatingDelta.changed(3, 3));
+
+        verifyNoInteractions(ratingChangedCoalescer);
+    }
+
+    @Test
+    @DisplayName("getRating - Maps counters to average and distribution")
+    void getRating_MapsSummaryRow() {
+        EntityRatingSummary summary = EntityRatingSummary.builder()
+                .entityType("SERVICE")
+                .entityId(1L)
+                .reviewCount(4)
+                .ratingSum(17)
+                .fiveStars(2)
+                .fourStars(1)
+                .threeStars(1)
+                .build();
+        when(summaryRepository.findById(new EntityRatingSummaryId("SERVICE", 1L))).thenReturn(Optional.of(summary));
+
+        RatingDTO result = ratingSummaryService.getRating("SERVICE", 1L);
+
+        assertThat(result.getAverageRating()).isEqualTo(4.25);
+        assertThat(result.getTotalReviews()).isEqualTo(4);
+        assertThat(result.getDistribution().getFiveStars()).isEqualTo(2);
+        assertThat(result.getDistribution().getOneStar()).isZero();
+    }
+
+    @Test
+    @DisplayName("getRating - Entity without reviews has an empty rating")
+    void getRating_MissingRowIsEmpty() {
+        when(summaryRepository.findById(any())).thenReturn(Optional.empty());
+
+        RatingDTO result = ratingSummaryService.getRating("PROVIDER", 9L);
+
+        assertThat(result.getAverageRating()).isEqualTo(0.0);
+        assertThat(result.getTotalReviews()).isZero();
+        assertThat(result.getEntityId()).isEqualTo(9L);
+    }
+
+    @Test
+    @DisplayName("getRatings - One query per entity type, results in request order")
+    void getRatings_GroupsByEntityType() {
+        when(summaryRepository.findByEntityTypeAndEntityIdIn(eq("SERVICE"), anyCollection())).thenReturn(List.of(
+                EntityRatingSummary.builder().entityType("SERVICE").entityId(2L).reviewCount(1).ratingSum(3).threeStars(1).build(),
+                EntityRatingSummary.builder().entityType("SERVICE").entityId(1L).reviewCount(2).ratingSum(10).fiveStars(2).build()));
+        when(summaryRepository.findByEntityTypeAndEntityIdIn(eq("PROVIDER"), anyCollection())).thenReturn(List.of());
+
+        List<RatingDTO> result = ratingSummaryService.getRatings(List.of(
+                new EntityReferenceDTO(EntityType.SERVICE, 1L),
+                new EntityReferenceDTO(EntityType.PROVIDER, 1L),
+                new EntityReferenceDTO(EntityType.SERVICE, 2L)));
+
+        assertThat(result).extracting(RatingDTO::getEntityType, RatingDTO::getEntityId, RatingDTO::getAverageRating)
+                .containsExactly(
+                        tuple("SERVICE", 1L, 5.0),
+                        tuple("PROVIDER", 1L, 0.0),
+                        tuple("SERVICE", 2L, 3.0));
+        verify(summaryRepository, times(2)).findByEntityTypeAndEntityIdIn(anyString(), anyCollection());
+    }
+
+    @Test
+    @DisplayName("getLeaderboard - Ranks continue across pages")
+    void getLeaderboard_NumbersRanksFromPageOffset() {
+        when(summaryRepository.findByEntityTypeAndReviewCountGreaterThanEqual(eq("SERVICE"), eq(1L), any(Pageable.class)))
+                .thenAnswer(inv -> new PageImpl<>(List.of(
+                        EntityRatingSummary.builder().entityType("SERVICE").entityId(5L).reviewCount(2000).ratingSum(9000).bayesianScore(4.49).build(),
+                        EntityRatingSummary.builder().entityType("SERVICE").entityId(3L).reviewCount(2).ratingSum(10).bayesianScore(3.33).build()),
+                        inv.getArgument(2, Pageable.class), 12));
+
+        Page<LeaderboardEntryDTO> result = ratingSummaryService.getLeaderboard("SERVICE", 1, 2);
+
+        assertThat(result.getContent()).extracting(LeaderboardEntryDTO::getRank, LeaderboardEntryDTO::getEntityId,
+                        LeaderboardEntryDTO::getAverageRating)
+                .containsExactly(tuple(3L, 5L, 4.5), tuple(4L, 3L, 5.0));
+        assertThat(result.getTotalElements()).isEqualTo(12);
+    }
+}
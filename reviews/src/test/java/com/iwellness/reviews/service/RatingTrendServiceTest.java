@@ -0,0 +1,155 @@
+package com.iwellness.reviews.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.iwellness.reviews.dto.RatingTrendDTO;
+import com.iwellness.reviews.entity.EntityRatingTrend;
+import com.iwellness.reviews.model.RatingDelta;
+import com.iwellness.reviews.model.TrendGranularity;
+import com.iwellness.reviews.repository.EntityRatingTrendRepository;
+
+@ExtendWith(MockitoExtension.class)
+class RatingTrendServiceTest {
+
+    @Mock
+    private EntityRatingTrendRepository trendRepository;
+
+    @InjectMocks
+    private RatingTrendService ratingTrendService;
+
+    @Test
+    @DisplayName("applyDelta - Creates the daily bucket of the review's creation date")
+    void applyDelta_CreatesMissingDay() {
+        RatingDelta delta = RatingDelta.added(4);
+        LocalDate day = LocalDate.of(2026, 3, 14);
+        when(trendRepository.applyDelta("SERVICE", 1L, TrendGranularity.DAY, day, delta)).thenReturn(0, 1);
+
+        ratingTrendService.applyDelta("SERVICE", 1L, day.atTime(18, 30), delta);
+
+        InOrder inOrder = inOrder(trendRepository);
+        inOrder.verify(trendRepository).applyDelta("SERVICE", 1L, TrendGranularity.DAY, day, delta);
+        inOrder.verify(trendRepository).applyDelta("SERVICE", 1L, TrendGranularity.WEEK, LocalDate.of(2026, 3, 9), delta);
+        inOrder.verify(trendRepository).applyDelta("SERVICE", 1L, TrendGranularity.MONTH, LocalDate.of(2026, 3, 1), delta);
+        inOrder.verify(trendRepository).insertEmptyDayIfAbsent("SERVICE", 1L, day);
+        inOrder.verify(trendRepository).applyDelta("SERVICE", 1L, TrendGranularity.DAY, day, delta);
+    }
+
+    @Test
+    @DisplayName("applyDelta - A change to a review of a compacted day goes to its week, clipped to the month")
+    void applyDelta_CompactedDayUpdatesWeek() {
+        RatingDelta delta = RatingDelta.changed(5, 2);
+        LocalDate day = LocalDate.of(2026, 4, 2);
+        when(trendRepository.applyDelta("SERVICE", 1L, TrendGranularity.WEEK, LocalDate.of(2026, 4, 1), delta))
+                .thenReturn(1);
+
+        ratingTrendService.applyDelta("SERVICE", 1L, day.atTime(9, 0), delta);
+
+        verify(trendRepository, never()).applyDelta(any(), any(), eq(TrendGranularity.MONTH), any(), any());
+        verify(trendRepository, never()).insertEmptyDayIfAbsent(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("applyDelta - Deleting a review of a compacted month decrements the month")
+    void applyDelta_CompactedMonthDelete() {
+        RatingDelta delta = RatingDelta.removed(3);
+        LocalDate day = LocalDate.of(2024, 5, 20);
+        when(trendRepository.applyDelta("SERVICE", 1L, TrendGranularity.MONTH, LocalDate.of(2024, 5, 1), delta))
+                .thenReturn(1);
+
+        ratingTrendService.applyDelta("SERVICE", 1L, day.atStartOfDay(), delta);
+
+        verify(trendRepository, never()).insertEmptyDayIfAbsent(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("applyDelta - Skips the write when the rating did not change")
+    void applyDelta_EmptyDeltaSkipsWrite() {
+        ratingTrendService.applyDelta("SERVICE", 1L, LocalDateTime.now(), RatingDelta.changed(3, 3));
+
+        verifyNoInteractions(trendRepository);
+    }
+
+    @Test
+    @DisplayName("getTrend - Rolls daily buckets into months and keeps compacted buckets whole")
+    void getTrend_AggregatesBuckets() {
+        LocalDate from = LocalDate.of(2026, 1, 10);
+        LocalDate to = LocalDate.of(2026, 4, 1);
+        when(trendRepository.findBuckets(eq("PROVIDER"), eq(7L), eq(LocalDate.of(2026, 1, 1)), eq(to))).thenReturn(List.of(
+                bucket(TrendGranularity.MONTH, LocalDate.of(2026, 1, 1), 4, 12),
+                bucket(TrendGranularity.WEEK, LocalDate.of(2026, 2, 2), 2, 10),
+                bucket(TrendGranularity.DAY, LocalDate.of(2026, 2, 20), 1, 4),
+                bucket(TrendGranularity.DAY, LocalDate.of(2026, 3, 5), 1, 5)));
+
+        RatingTrendDTO result = ratingTrendService.getTrend("PROVIDER", 7L, from, to, TrendGranularity.MONTH);
+
+        assertThat(result.getPoints()).extracting(RatingTrendDTO.TrendPoint::getBucketStart,
+                        RatingTrendDTO.TrendPoint::getTotalReviews, RatingTrendDTO.TrendPoint::getAverageRating)
+                .containsExactly(
+                        tuple(LocalDate.of(2026, 1, 1), 4L, 3.0),
+                        tuple(LocalDate.of(2026, 2, 1), 3L, 14.0 / 3),
+                        tuple(LocalDate.of(2026, 3, 1), 1L, 5.0));
+    }
+
+    @Test
+    @DisplayName("getTrend - Leaves out buckets that end before the range starts")
+    void getTrend_FiltersBucketsBeforeRange() {
+        LocalDate from = LocalDate.of(2026, 1, 10);
+        when(trendRepository.findBuckets(any(), any(), any(), any())).thenReturn(List.of(
+                bucket(TrendGranularity.DAY, LocalDate.of(2026, 1, 3), 1, 1),
+                bucket(TrendGranularity.DAY, LocalDate.of(2026, 1, 12), 1, 5)));
+
+        RatingTrendDTO result = ratingTrendService.getTrend("SERVICE", 1L, from, LocalDate.of(2026, 2, 1),
+                TrendGranularity.WEEK);
+
+        assertThat(result.getPoints()).extracting(RatingTrendDTO.TrendPoint::getBucketStart, RatingTrendDTO.TrendPoint::getGranularity)
+                .containsExactly(tuple(LocalDate.of(2026, 1, 12), "WEEK"));
+    }
+
+    @Test
+    @DisplayName("getTrend - Daily buckets written after compaction are merged into the compacted point")
+    void getTrend_MergesDeltasAfterCompaction() {
+        LocalDate from = LocalDate.of(2026, 1, 1);
+        LocalDate to = LocalDate.of(2026, 3, 1);
+        when(trendRepository.findBuckets(any(), any(), any(), any())).thenReturn(List.of(
+                bucket(TrendGranularity.MONTH, LocalDate.of(2026, 1, 1), 4, 12),
+                // Reseña borrada después de compactar enero
+                bucket(TrendGranularity.DAY, LocalDate.of(2026, 1, 20), -1, -1),
+                bucket(TrendGranularity.WEEK, LocalDate.of(2026, 2, 2), 2, 10),
+                // Valoración cambiada de 5 a 3 después de compactar la semana
+                bucket(TrendGranularity.DAY, LocalDate.of(2026, 2, 4), 0, -2)));
+
+        RatingTrendDTO result = ratingTrendService.getTrend("SERVICE", 1L, from, to, TrendGranularity.DAY);
+
+        assertThat(result.getPoints()).extracting(RatingTrendDTO.TrendPoint::getBucketStart,
+                        RatingTrendDTO.TrendPoint::getGranularity, RatingTrendDTO.TrendPoint::getTotalReviews,
+                        RatingTrendDTO.TrendPoint::getAverageRating)
+                .containsExactly(
+                        tuple(LocalDate.of(2026, 1, 1), "MONTH", 3L, 11.0 / 3),
+                        tuple(LocalDate.of(2026, 2, 2), "WEEK", 2L, 4.0));
+    }
+
+    private EntityRatingTrend bucket(TrendGranularity granularity, LocalDate start, long count, long sum) {
+        return EntityRatingTrend.builder()
+                .entityType("SERVICE")
+                .entityId(1L)
+                .granularity(granularity)
+                .bucketStart(start)
+                .reviewCount(count)
+                .ratingSum(sum)
+                .build();
+    }
+}
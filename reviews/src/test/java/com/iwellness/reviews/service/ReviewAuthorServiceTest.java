@@ -0,0 +1,226 @@
+package com.iwellness.reviews.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.iwellness.reviews.dto.UsuarioDTO;
+import com.iwellness.reviews.entity.ReviewAuthor;
+import com.iwellness.reviews.event.UserProfileUpdatedEvent;
+import com.iwellness.reviews.repository.ReviewAuthorRepository;
+
+@ExtendWith(MockitoExtension.class)
+class ReviewAuthorServiceTest {
+
+    @Mock
+    private ReviewAuthorRepository authorRepository;
+    @Mock
+    private UserProfileService userProfileService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ReviewAuthorService reviewAuthorService;
+
+    @BeforeEach
+    void setUp() {
+        reviewAuthorService = new ReviewAuthorService(authorRepository, userProfileService,
+                new TransactionTemplate(transactionManager), new SyncTaskExecutor());
+    }
+
+    @Test
+    @DisplayName("snapshot - Stores the current profile of the author")
+    void snapshot_StoresProfile() {
+        when(userProfileService.findById(100L)).thenReturn(user(100L, "Ana"));
+
+        UsuarioDTO result = reviewAuthorService.snapshot(100L);
+
+        assertThat(result.getNombre()).isEqualTo("Ana");
+        verify(authorRepository).upsert(eq(100L), eq("Ana"), eq("Pérez"), eq("foto-100"), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("snapshot - Keeps the stored copy when the users service does not answer")
+    void snapshot_UsersDown_KeepsStoredCopy() {
+        when(authorRepository.findById(100L)).thenReturn(Optional.of(author(100L, "Ana")));
+
+        UsuarioDTO result = reviewAuthorService.snapshot(100L);
+
+        assertThat(result.getNombre()).isEqualTo("Ana");
+        verify(authorRepository, never()).upsert(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("snapshot - A cached profile is stored with the time it was fetched")
+    void snapshot_CachedProfile_KeepsFetchTime() {
+        LocalDateTime fetchedAt = LocalDateTime.now().minusMinutes(4);
+        UsuarioDTO cached = user(100L, "Ana");
+        cached.setFetchedAt(fetchedAt);
+        when(userProfileService.findById(100L)).thenReturn(cached);
+
+        reviewAuthorService.snapshot(100L);
+
+        verify(authorRepository).upsert(100L, "Ana", "Pérez", "foto-100", fetchedAt);
+    }
+
+    @Test
+    @DisplayName("snapshotMissing - Looks up only the authors without a stored copy")
+    void snapshotMissing_OnlyMissingAuthors() {
+        when(authorRepository.findAllById(Set.of(100L, 200L))).thenReturn(List.of(author(100L, "Ana")));
+        when(userProfileService.findByIds(Set.of(200L))).thenReturn(Map.of(200L, user(200L, "Luis")));
+
+        int stored = reviewAuthorService.snapshotMissing(Set.of(100L, 200L));
+
+        assertThat(stored).isEqualTo(1);
+        verify(authorRepository).upsert(eq(200L), eq("Luis"), eq("Pérez"), eq("foto-200"), any(LocalDateTime.class));
+        verify(authorRepository, never()).upsert(eq(100L), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("refresh - Applies the newest event of each user over older stored copies only")
+    void refresh_NewestEventWins() {
+        LocalDateTime now = LocalDateTime.now();
+        when(authorRepository.updateIfNewer(eq(100L), any(), any(), any(), any())).thenReturn(1);
+
+        int refreshed = reviewAuthorService.refresh(List.of(
+                event(100L, "Anita", now.minusMinutes(1)),
+                event(300L, "Marta", now.minusMinutes(5)),
+                // Llega tarde: es anterior al último cambio de 100
+                event(100L, "Ana María", now.minusMinutes(10))));
+
+        assertThat(refreshed).isEqualTo(1);
+        verify(authorRepository).updateIfNewer(100L, "Anita", "Pérez", "foto-100", now.minusMinutes(1));
+        verify(authorRepository).updateIfNewer(300L, "Marta", "Pérez", "foto-300", now.minusMinutes(5));
+        verify(authorRepository, never()).updateIfNewer(eq(100L), eq("Ana María"), any(), any(), any());
+        verify(userProfileService, never()).evict(any());
+        verify(authorRepository, never()).upsert(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("refresh - Events without updatedAt are applied in arrival order")
+    void refresh_WithoutUpdatedAt_LastEventWins() {
+        reviewAuthorService.refresh(List.of(event(100L, "Ana María", null), event(100L, "Anita", null)));
+
+        verify(authorRepository).updateIfNewer(eq(100L), eq("Anita"), any(), any(), any(LocalDateTime.class));
+        verify(authorRepository, times(1)).updateIfNewer(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("backfill - Walks the authors without a copy in user_id order")
+    void backfill_PagesByUserId() {
+        ReflectionTestUtils.setField(reviewAuthorService, "backfillBatchSize", 2);
+        when(authorRepository.findUserIdsWithoutSnapshot(0L, 2)).thenReturn(List.of(100L, 200L));
+        when(authorRepository.findUserIdsWithoutSnapshot(200L, 2)).thenReturn(List.of(300L));
+        when(userProfileService.findByIds(List.of(100L, 200L))).thenReturn(Map.of(100L, user(100L, "Ana")));
+        when(userProfileService.findByIds(List.of(300L))).thenReturn(Map.of(300L, user(300L, "Marta")));
+
+        reviewAuthorService.backfill();
+
+        verify(authorRepository).upsert(eq(100L), any(), any(), any(), any());
+        verify(authorRepository).upsert(eq(300L), any(), any(), any(), any());
+        verify(authorRepository, times(2)).findUserIdsWithoutSnapshot(anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("findByUserIds - Reads the stored profiles with one query")
+    void findByUserIds_ReadsStoredProfiles() {
+        when(authorRepository.findAllById(Set.of(100L, 200L)))
+                .thenReturn(List.of(author(100L, "Ana"), author(200L, "Luis")));
+
+        Map<Long, UsuarioDTO> result = reviewAuthorService.findByUserIds(List.of(100L, 200L, 100L));
+
+        assertThat(result).containsOnlyKeys(100L, 200L);
+        assertThat(result.get(100L).getFoto()).isEqualTo("foto-100");
+        verifyNoInteractions(userProfileService);
+    }
+
+    @Test
+    @DisplayName("findByUserIds - Copies the authors without a copy only after the reading transaction ends")
+    void findByUserIds_MissingAuthorsAreStoredAfterTransaction() {
+        when(authorRepository.findAllById(Set.of(100L, 200L, 300L))).thenReturn(List.of(author(100L, "Ana")));
+        when(userProfileService.findCached(Set.of(200L, 300L))).thenReturn(Map.of(200L, user(200L, "Luis")));
+        when(userProfileService.findByIds(Set.of(200L, 300L))).thenReturn(Map.of(200L, user(200L, "Luis")));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            Map<Long, UsuarioDTO> result = reviewAuthorService.findByUserIds(List.of(100L, 200L, 300L));
+
+            // Stored copies and cached profiles only: nothing remote while the transaction is open
+            assertThat(result).containsOnlyKeys(100L, 200L);
+            verify(userProfileService, never()).findByIds(any());
+            verify(authorRepository, never()).upsert(any(), any(), any(), any(), any());
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(authorRepository).upsert(eq(200L), eq("Luis"), eq("Pérez"), eq("foto-200"), any(LocalDateTime.class));
+        verify(transactionManager).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+    }
+
+    @Test
+    @DisplayName("findByUserIds - A failed copy is retried on the next read")
+    void findByUserIds_StoreFails_RetriedNextRead() {
+        when(authorRepository.findAllById(Set.of(200L))).thenReturn(List.of());
+        when(userProfileService.findByIds(Set.of(200L))).thenReturn(Map.of(200L, user(200L, "Luis")));
+        when(authorRepository.upsert(any(), any(), any(), any(), any()))
+                .thenThrow(new DataAccessResourceFailureException("primary down"));
+
+        assertThat(reviewAuthorService.findByUserIds(List.of(200L))).isEmpty();
+        reviewAuthorService.findByUserIds(List.of(200L));
+
+        verify(userProfileService, times(2)).findByIds(Set.of(200L));
+    }
+
+    private static UsuarioDTO user(Long id, String nombre) {
+        UsuarioDTO user = new UsuarioDTO();
+        user.setId(id);
+        user.setNombre(nombre);
+        user.setApellido("Pérez");
+        user.setFoto("foto-" + id);
+        return user;
+    }
+
+    private static ReviewAuthor author(Long userId, String nombre) {
+        return ReviewAuthor.builder()
+                .userId(userId)
+                .nombre(nombre)
+                .apellido("Pérez")
+                .foto("foto-" + userId)
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static UserProfileUpdatedEvent event(Long id, String nombre, LocalDateTime updatedAt) {
+        return UserProfileUpdatedEvent.builder()
+                .id(id)
+                .nombre(nombre)
+                .apellido("Pérez")
+                .foto("foto-" + id)
+                .updatedAt(updatedAt)
+                .build();
+    }
+}
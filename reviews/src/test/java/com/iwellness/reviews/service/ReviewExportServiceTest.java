@@ -0,0 +1,163 @@
+package com.iwellness.reviews.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.hibernate.jpa.HibernateHints;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.iwellness.reviews.dto.ReviewExportDTO;
+import com.iwellness.reviews.model.ExportFormat;
+import com.iwellness.reviews.model.ReviewExportFilter;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+
+@ExtendWith(MockitoExtension.class)
+class ReviewExportServiceTest {
+
+    @Mock
+    private EntityManager entityManager;
+    @Mock(answer = Answers.RETURNS_SELF)
+    private TypedQuery<ReviewExportDTO> query;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private ReviewExportService reviewExportService;
+
+    @BeforeEach
+    void setUp() {
+        reviewExportService = new ReviewExportService(entityManager, objectMapper, 2);
+        lenient().when(entityManager.createQuery(anyString(), eq(ReviewExportDTO.class))).thenReturn(query);
+    }
+
+    @Test
+    @DisplayName("export - Writes rows to the client every fetch-size rows while the cursor is still open")
+    void export_FlushesEveryFetchSizeRows() {
+        CountingOutputStream out = new CountingOutputStream();
+        List<String> writtenBeforeRow = new ArrayList<>();
+        Iterator<ReviewExportDTO> rows = List.of(review(1L, "a"), review(2L, "b"), review(3L, "c"),
+                review(4L, "d"), review(5L, "e")).iterator();
+        // Guarda lo que ya había llegado al cliente cada vez que se lee una fila del cursor
+        Iterator<ReviewExportDTO> cursor = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return rows.hasNext();
+            }
+
+            @Override
+            public ReviewExportDTO next() {
+                writtenBeforeRow.add(out.flushed());
+                return rows.next();
+            }
+        };
+        when(query.getResultStream()).thenReturn(stream(cursor));
+
+        long exported = reviewExportService.export(ReviewExportFilter.of("SERVICE", 7L, null, null, null),
+                ExportFormat.CSV, out);
+
+        assertThat(exported).isEqualTo(5);
+        assertThat(out.flushes).isEqualTo(3);
+        assertThat(writtenBeforeRow.get(2)).endsWith("2,SERVICE,7,3,4,b,2026-10-16T12:30,\n");
+        assertThat(writtenBeforeRow.get(2)).doesNotContain("3,SERVICE");
+        assertThat(out.flushed().lines()).hasSize(6);
+        verify(query).setHint(HibernateHints.HINT_FETCH_SIZE, 2);
+        verify(query).setParameter("entityType", "SERVICE");
+        verify(query).setParameter("entityId", 7L);
+        verify(query, never()).getResultList();
+    }
+
+    @Test
+    @DisplayName("export - NDJSON writes one JSON review per line")
+    void export_Ndjson_OneReviewPerLine() throws Exception {
+        CountingOutputStream out = new CountingOutputStream();
+        when(query.getResultStream()).thenReturn(Stream.of(review(1L, "Genial"), review(2L, "Línea 1\nlínea 2")));
+
+        long exported = reviewExportService.export(ReviewExportFilter.of(null, null, null, null, null),
+                ExportFormat.NDJSON, out);
+
+        assertThat(exported).isEqualTo(2);
+        List<String> lines = out.flushed().lines().toList();
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines.get(0), ReviewExportDTO.class)).isEqualTo(review(1L, "Genial"));
+        assertThat(objectMapper.readValue(lines.get(1), ReviewExportDTO.class))
+                .isEqualTo(review(2L, "Línea 1\nlínea 2"));
+        verify(query, never()).setParameter(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("toCsv - Quotes comments with separators, quotes and line breaks")
+    void toCsv_EscapesComment() {
+        ReviewExportDTO review = review(1L, "Muy \"bueno\", volvería\nsin duda");
+        review.setEntityId(2L);
+
+        assertThat(ReviewExportService.toCsv(review))
+                .isEqualTo("1,SERVICE,2,3,4,\"Muy \"\"bueno\"\", volvería\nsin duda\",2026-10-16T12:30,");
+    }
+
+    @Test
+    @DisplayName("toCsv - Prefixes comments that a spreadsheet would evaluate as formulas")
+    void toCsv_EscapesFormulas() {
+        assertThat(ReviewExportService.toCsv(review(1L, "=HYPERLINK(\"http://x\",\"y\")")))
+                .contains(",\"'=HYPERLINK(\"\"http://x\"\",\"\"y\"\")\",");
+        assertThat(ReviewExportService.toCsv(review(1L, "+1"))).contains(",'+1,");
+        assertThat(ReviewExportService.toCsv(review(1L, "-1"))).contains(",'-1,");
+        assertThat(ReviewExportService.toCsv(review(1L, "@SUM(A1)"))).contains(",'@SUM(A1),");
+        assertThat(ReviewExportService.toCsv(review(1L, "Muy bien - 10/10"))).contains(",Muy bien - 10/10,");
+    }
+
+    private static ReviewExportDTO review(Long id, String comment) {
+        return ReviewExportDTO.builder()
+                .id(id)
+                .entityType("SERVICE")
+                .entityId(7L)
+                .userId(3L)
+                .rating(4)
+                .comment(comment)
+                .createdAt(LocalDateTime.of(2026, 10, 16, 12, 30))
+                .build();
+    }
+
+    private static Stream<ReviewExportDTO> stream(Iterator<ReviewExportDTO> iterator) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, 0), false);
+    }
+
+    /**
+     * Solo cuenta como enviado lo que se ha escrito hasta el último flush
+     */
+    private static class CountingOutputStream extends ByteArrayOutputStream {
+        private int flushes;
+        private int flushedSize;
+
+        @Override
+        public void flush() {
+            flushes++;
+            flushedSize = size();
+        }
+
+        String flushed() {
+            return new String(toByteArray(), 0, flushedSize, StandardCharsets.UTF_8);
+        }
+    }
+}
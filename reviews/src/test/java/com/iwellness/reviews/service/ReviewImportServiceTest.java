@@ -0,0 +1,147 @@
+package com.iwellness.reviews.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.iwellness.reviews.dto.ReviewImportReportDTO;
+import com.iwellness.reviews.entity.Review;
+import com.iwellness.reviews.event.ReviewsImportedEvent;
+import com.iwellness.reviews.model.EntityType;
+import com.iwellness.reviews.model.RatingDelta;
+import com.iwellness.reviews.model.ReviewKey;
+import com.iwellness.reviews.publisher.ReviewEventPublisher;
+import com.iwellness.reviews.repository.ReviewRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+
+@ExtendWith(MockitoExtension.class)
+class ReviewImportServiceTest {
+
+    @Mock
+    private ReviewRepository reviewRepository;
+    @Mock
+    private RatingSummaryService ratingSummaryService;
+    @Mock
+    private RatingTrendService ratingTrendService;
+    @Mock
+    private ReviewAuthorService reviewAuthorService;
+    @Mock
+    private ReviewableService reviewableService;
+    @Mock
+    private ReviewEventPublisher reviewEventPublisher;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private EntityManager entityManager;
+
+    private ReviewImportService reviewImportService;
+
+    @BeforeEach
+    void setUp() {
+        reviewImportService = new ReviewImportService(reviewRepository, ratingSummaryService, ratingTrendService,
+                reviewAuthorService, reviewableService,
+                reviewEventPublisher, new ObjectMapper().registerModule(new JavaTimeModule()),
+                Validation.buildDefaultValidatorFactory().getValidator(), transactionTemplate, entityManager,
+                2, 100, true);
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().when(reviewableService.isReviewable(any(), anyLong())).thenReturn(true);
+        // Como @PrePersist: las filas sin createdAt se guardan con la fecha actual
+        lenient().when(reviewRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> {
+            List<Review> reviews = invocation.getArgument(0);
+            reviews.stream().filter(review -> review.getCreatedAt() == null)
+                    .forEach(review -> review.setCreatedAt(LocalDateTime.now()));
+            return reviews;
+        });
+    }
+
+    @Test
+    @DisplayName("importReviews - Inserts per batch, skips duplicates and reports invalid rows")
+    void importReviews_BatchesAndReport() {
+        when(reviewRepository.findKeysByEntityTypeInAndEntityIdInAndUserIdIn(anyCollection(), anyCollection(), anyCollection()))
+                .thenReturn(List.of(new ReviewKey("SERVICE", 1L, 300L)));
+
+        ReviewImportReportDTO report = reviewImportService.importReviews(ndjson(
+                "{\"entityType\":\"SERVICE\",\"entityId\":1,\"userId\":100,\"rating\":5}",
+                "{\"entityType\":\"SERVICE\",\"entityId\":1,\"userId\":200,\"rating\":3,\"createdAt\":\"2024-05-01T10:00:00\"}",
+                "",
+                "{\"entityType\":\"SERVICE\",\"entityId\":1,\"userId\":300,\"rating\":4}",
+                "{\"entityType\":\"SERVICE\",\"entityId\":1,\"userId\":400,\"rating\":9}",
+                "not json"));
+
+        assertThat(report.getReceived()).isEqualTo(5);
+        assertThat(report.getImported()).isEqualTo(2);
+        assertThat(report.getDuplicates()).isEqualTo(1);
+        assertThat(report.getFailed()).isEqualTo(2);
+        assertThat(report.getErrors()).extracting(ReviewImportReportDTO.RowError::getLine).containsExactly(4L, 5L, 6L);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Review>> saved = ArgumentCaptor.forClass(List.class);
+        verify(reviewRepository).saveAllAndFlush(saved.capture());
+        assertThat(saved.getValue()).extracting(Review::getUserId).containsExactly(100L, 200L);
+        assertThat(saved.getValue().get(1).getCreatedAt()).hasYear(2024);
+
+        ArgumentCaptor<RatingDelta> delta = ArgumentCaptor.forClass(RatingDelta.class);
+        verify(ratingSummaryService).applyDelta(eq("SERVICE"), eq(1L), delta.capture());
+        assertThat(delta.getValue().getCount()).isEqualTo(2);
+        assertThat(delta.getValue().getSum()).isEqualTo(8);
+        // Un cubo diario por fecha de creación
+        verify(ratingTrendService).applyDelta(eq("SERVICE"), eq(1L), eq(LocalDate.of(2024, 5, 1).atStartOfDay()),
+                argThat(daily -> daily.getCount() == 1 && daily.getSum() == 3));
+        verify(ratingTrendService).applyDelta(eq("SERVICE"), eq(1L), eq(LocalDate.now().atStartOfDay()),
+                argThat(daily -> daily.getCount() == 1 && daily.getSum() == 5));
+
+        ArgumentCaptor<ReviewsImportedEvent> event = ArgumentCaptor.forClass(ReviewsImportedEvent.class);
+        verify(reviewEventPublisher).publishReviewsImported(event.capture());
+        assertThat(event.getValue().getImported()).isEqualTo(2);
+        verify(reviewableService, times(2)).isReviewable(EntityType.SERVICE, 1L);
+        // Solo el lote con filas importadas copia los perfiles de sus autores
+        verify(reviewAuthorService).snapshotMissing(Set.of(100L, 200L));
+        verify(reviewAuthorService, times(1)).snapshotMissing(anyCollection());
+    }
+
+    @Test
+    @DisplayName("importReviews - Retries a batch that conflicts with a concurrent write")
+    void importReviews_ConcurrentConflict_RetriesBatch() {
+        doThrow(new DataIntegrityViolationException("uk_entity_user"))
+                .doAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null))
+                .when(transactionTemplate).execute(any());
+        when(reviewRepository.findKeysByEntityTypeInAndEntityIdInAndUserIdIn(anyCollection(), anyCollection(), anyCollection()))
+                .thenReturn(List.of(new ReviewKey("PROVIDER", 7L, 100L)));
+
+        ReviewImportReportDTO report = reviewImportService.importReviews(ndjson(
+                "{\"entityType\":\"PROVIDER\",\"entityId\":7,\"userId\":100,\"rating\":2}"));
+
+        assertThat(report.getImported()).isZero();
+        assertThat(report.getDuplicates()).isEqualTo(1);
+        assertThat(report.getFailed()).isZero();
+        verify(reviewRepository, never()).saveAllAndFlush(any());
+        verify(reviewAuthorService, never()).snapshotMissing(anyCollection());
+    }
+
+    private ByteArrayInputStream ndjson(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,91 @@
+package com.iwellness.reviews.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.iwellness.reviews.dto.RatingDTO;
+import com.iwellness.reviews.publisher.ReviewEventPublisher;
+import com.iwellness.reviews.repository.ReviewRepository;
+
+@ExtendWith(MockitoExtension.class)
+class ReviewPurgeServiceTest {
+
+    @Mock
+    private ReviewRepository reviewRepository;
+    @Mock
+    private RatingSummaryService ratingSummaryService;
+    @Mock
+    private RatingTrendService ratingTrendService;
+    @Mock
+    private ReviewEventPublisher reviewEventPublisher;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private ReviewPurgeService reviewPurgeService;
+
+    @BeforeEach
+    void setUp() {
+        reviewPurgeService = new ReviewPurgeService(reviewRepository, ratingSummaryService, ratingTrendService,
+                reviewEventPublisher, transactionTemplate, 2, 0);
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    private void summaryHolds(String entityType, Long entityId, long totalReviews) {
+        when(ratingSummaryService.getRating(entityType, entityId)).thenReturn(RatingDTO.builder()
+                .entityType(entityType).entityId(entityId).totalReviews(totalReviews).build());
+    }
+
+    @Test
+    @DisplayName("purgeEntity - Deletes in chunks and updates aggregates and events once")
+    void purgeEntity_ChunksAndSummarizesOnce() {
+        summaryHolds("PROVIDER", 7L, 5);
+        when(reviewRepository.deleteChunkByEntity("PROVIDER", 7L, 2)).thenReturn(2, 2, 1);
+
+        long deleted = reviewPurgeService.purgeEntity("PROVIDER", 7L);
+
+        assertThat(deleted).isEqualTo(5);
+        verify(transactionTemplate, times(4)).execute(any());
+        InOrder inOrder = inOrder(reviewRepository, ratingSummaryService, reviewEventPublisher);
+        inOrder.verify(reviewRepository, times(3)).deleteChunkByEntity("PROVIDER", 7L, 2);
+        inOrder.verify(ratingSummaryService).remove("PROVIDER", 7L);
+        inOrder.verify(reviewEventPublisher).publishEntityReviewsPurged("PROVIDER", 7L, 5);
+        verify(ratingTrendService).remove("PROVIDER", 7L);
+        verify(reviewEventPublisher, never()).publishReviewDeleted(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("purgeEntity - An entity without reviews publishes no event")
+    void purgeEntity_NoReviews_NoEvent() {
+        summaryHolds("SERVICE", 1L, 0);
+        when(reviewRepository.deleteChunkByEntity("SERVICE", 1L, 2)).thenReturn(0);
+
+        assertThat(reviewPurgeService.purgeEntity("SERVICE", 1L)).isZero();
+
+        verify(ratingSummaryService).remove("SERVICE", 1L);
+        verifyNoInteractions(reviewEventPublisher);
+    }
+
+    @Test
+    @DisplayName("purgeEntity - A resumed purge reports the reviews the entity had before the first run")
+    void purgeEntity_Resumed_ReportsTotalFromSummary() {
+        // Una ejecución anterior ya borró 4 de las 5 reseñas antes de interrumpirse
+        summaryHolds("PROVIDER", 7L, 5);
+        when(reviewRepository.deleteChunkByEntity("PROVIDER", 7L, 2)).thenReturn(1);
+
+        assertThat(reviewPurgeService.purgeEntity("PROVIDER", 7L)).isEqualTo(1);
+
+        verify(reviewEventPublisher).publishEntityReviewsPurged("PROVIDER", 7L, 5);
+    }
+}
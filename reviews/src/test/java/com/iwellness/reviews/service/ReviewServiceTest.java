@@ -5,6 +5,8 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -14,18 +16,24 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 
-import com.iwellness.reviews.client.UserApiClient;
+import com.iwellness.reviews.dto.CursorPageDTO;
 import com.iwellness.reviews.dto.RatingDTO;
 import com.iwellness.reviews.dto.ReviewRequestDTO;
 import com.iwellness.reviews.dto.ReviewResponseDTO;
 import com.iwellness.reviews.dto.UsuarioDTO;
 import com.iwellness.reviews.entity.Review;
 import com.iwellness.reviews.exception.DuplicateReviewException;
+import com.iwellness.reviews.exception.InvalidCursorException;
 import com.iwellness.reviews.exception.UnauthorizedReviewAccessException;
 import com.iwellness.reviews.model.EntityType;
-import com.iwellness.reviews.model.Reviewable;
+import com.iwellness.reviews.model.ReviewCursor;
+import com.iwellness.reviews.model.ReviewView;
 import com.iwellness.reviews.publisher.ReviewEventPublisher;
+import com.iwellness.reviews.repository.FullTextSearchSupport;
 import com.iwellness.reviews.repository.ReviewRepository;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,9 +44,15 @@ class ReviewServiceTest {
     @Mock
     private ReviewEventPublisher reviewEventPublisher;
     @Mock
-    private UserApiClient userApiClient;
+    private ReviewAuthorService reviewAuthorService;
     @Mock
     private ReviewableService reviewableService;
+    @Mock
+    private RatingSummaryService ratingSummaryService;
+    @Mock
+    private RatingTrendService ratingTrendService;
+    @Mock
+    private FullTextSearchSupport fullTextSearchSupport;
 
     @InjectMocks
     private ReviewService reviewService;
@@ -77,13 +91,11 @@ class ReviewServiceTest {
     @DisplayName("createReview - Success")
     void createReview_Success() {
         // Arrange
-        Reviewable mockReviewable = mock(Reviewable.class);
-        when(reviewableService.getReviewableEntity(any(EntityType.class), anyLong()))
-                .thenReturn(mockReviewable);
+        when(reviewableService.isReviewable(any(EntityType.class), anyLong())).thenReturn(true);
         when(reviewRepository.existsByEntityTypeAndEntityIdAndUserId(anyString(), anyLong(), anyLong()))
                 .thenReturn(false);
         when(reviewRepository.save(any(Review.class))).thenReturn(mockReview);
-        when(userApiClient.findById(anyLong())).thenReturn(mockUser);
+        when(reviewAuthorService.snapshot(100L)).thenReturn(mockUser);
 
         // Act
         ReviewResponseDTO result = reviewService.createReview(requestDTO, 100L);
@@ -99,8 +111,7 @@ class ReviewServiceTest {
     @Test
     @DisplayName("createReview - Duplicate review throws exception")
     void createReview_DuplicateReview_ThrowsException() {
-        when(reviewableService.getReviewableEntity(any(EntityType.class), anyLong()))
-                .thenReturn(mock(Reviewable.class));
+        when(reviewableService.isReviewable(any(EntityType.class), anyLong())).thenReturn(true);
         when(reviewRepository.existsByEntityTypeAndEntityIdAndUserId(anyString(), anyLong(), anyLong()))
                 .thenReturn(true);
 
@@ -123,20 +134,170 @@ class ReviewServiceTest {
     }
 
     @Test
-    @DisplayName("getRatingByEntity - Success")
+    @DisplayName("createReview - Adds the rating to the entity summary")
+    void createReview_UpdatesRatingSummary() {
+        when(reviewableService.isReviewable(any(EntityType.class), anyLong())).thenReturn(true);
+        when(reviewRepository.existsByEntityTypeAndEntityIdAndUserId(anyString(), anyLong(), anyLong()))
+                .thenReturn(false);
+        when(reviewRepository.save(any(Review.class))).thenReturn(mockReview);
+
+        reviewService.createReview(requestDTO, 100L);
+
+        verify(ratingSummaryService).applyDelta(eq("SERVICE"), eq(1L),
+                argThat(delta -> delta.getCount() == 1 && delta.getFiveStars() == 1 && delta.getSum() == 5));
+        verify(ratingTrendService).applyDelta(eq("SERVICE"), eq(1L), eq(mockReview.getCreatedAt()),
+                argThat(delta -> delta.getCount() == 1 && delta.getSum() == 5));
+    }
+
+    @Test
+    @DisplayName("updateReview - Moves the old rating to the new one in the summary")
+    void updateReview_UpdatesRatingSummaryWithOldRating() {
+        Review existingReview = Review.builder()
+                .id(1L)
+                .entityType("SERVICE")
+                .entityId(1L)
+                .userId(100L)
+                .rating(2)
+                .build();
+        when(reviewRepository.findById(1L)).thenReturn(Optional.of(existingReview));
+        when(reviewRepository.save(any(Review.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        reviewService.updateReview(1L, requestDTO, 100L);
+
+        verify(ratingSummaryService).applyDelta(eq("SERVICE"), eq(1L), argThat(delta -> delta.getCount() == 0
+                && delta.getSum() == 3 && delta.getTwoStars() == -1 && delta.getFiveStars() == 1));
+    }
+
+    @Test
+    @DisplayName("getRatingByEntity - Reads the entity summary")
     void getRatingByEntity_Success() {
-        when(reviewRepository.calculateAverageRatingByEntity(anyString(), anyLong()))
-                .thenReturn(4.5);
-        when(reviewRepository.countByEntityTypeAndEntityId(anyString(), anyLong()))
-                .thenReturn(10L);
-        when(reviewRepository.countByEntityTypeAndEntityIdAndRating(anyString(), anyLong(), anyInt()))
-                .thenReturn(2L);
+        RatingDTO rating = RatingDTO.builder()
+                .entityId(1L)
+                .entityType("SERVICE")
+                .averageRating(4.5)
+                .totalReviews(10L)
+                .build();
+        when(ratingSummaryService.getRating("SERVICE", 1L)).thenReturn(rating);
 
         RatingDTO result = reviewService.getRatingByEntity(1L, "SERVICE");
 
         assertThat(result.getAverageRating()).isEqualTo(4.5);
         assertThat(result.getTotalReviews()).isEqualTo(10);
-        assertThat(result.getDistribution().getFiveStars()).isEqualTo(2);
+        verifyNoInteractions(reviewRepository);
+    }
+
+    @Test
+    @DisplayName("searchReviewsByEntity - Uses the full-text index when available")
+    void searchReviewsByEntity_FullText() {
+        when(fullTextSearchSupport.isAvailable()).thenReturn(true);
+        when(reviewRepository.searchByEntityFullText(eq("SERVICE"), eq(1L), eq("limpieza"), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(mockReview)));
+        when(reviewAuthorService.findByUserIds(anyCollection())).thenReturn(Map.of(100L, mockUser));
+
+        Page<ReviewResponseDTO> result = reviewService.searchReviewsByEntity(1L, "SERVICE", "limpieza", 0, 10);
+
+        assertThat(result.getContent()).extracting(ReviewResponseDTO::getNombre).containsExactly("John Doe");
+        verify(reviewRepository, never()).searchByEntityLike(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("searchReviewsByEntity - Falls back to an escaped LIKE without the tsvector column")
+    void searchReviewsByEntity_LikeFallback() {
+        when(fullTextSearchSupport.isAvailable()).thenReturn(false);
+        when(reviewRepository.searchByEntityLike(anyString(), anyLong(), anyString(), any(Pageable.class)))
+                .thenReturn(Page.empty());
+
+        reviewService.searchReviewsByEntity(1L, "SERVICE", "100%_real", 0, 10);
+
+        verify(reviewRepository).searchByEntityLike(eq("SERVICE"), eq(1L), eq("100\\%\\_real"), any(Pageable.class));
+        verify(reviewRepository, never()).searchByEntityFullText(any(), any(), any(), any());
     }
 
+    @Test
+    @DisplayName("getReviewsByEntity - Resolves authors with one batched lookup")
+    void getReviewsByEntity_ResolvesAuthorsInBatch() {
+        Review secondReview = Review.builder()
+                .id(2L)
+                .entityType("SERVICE")
+                .entityId(1L)
+                .userId(200L)
+                .rating(3)
+                .build();
+        Review thirdReview = Review.builder()
+                .id(3L)
+                .entityType("SERVICE")
+                .entityId(1L)
+                .userId(100L)
+                .rating(4)
+                .build();
+        when(reviewRepository.findViewsByEntity(anyString(), anyLong(), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(ReviewView.of(mockReview), ReviewView.of(secondReview),
+                        ReviewView.of(thirdReview))));
+        when(reviewAuthorService.findByUserIds(anyCollection())).thenReturn(Map.of(100L, mockUser));
+
+        Page<ReviewResponseDTO> result = reviewService.getReviewsByEntity(1L, "SERVICE", 0, 10, "createdAt");
+
+        assertThat(result.getContent()).extracting(ReviewResponseDTO::getNombre)
+                .containsExactly("John Doe", "Usuario Anónimo", "John Doe");
+        verify(reviewAuthorService, times(1)).findByUserIds(argThat(ids -> ids.size() == 2));
+        verify(reviewAuthorService, never()).findByUserId(anyLong());
+    }
+
+    @Test
+    @DisplayName("getReviewById - Reads the projection instead of the entity")
+    void getReviewById_UsesProjection() {
+        when(reviewRepository.findViewById(1L)).thenReturn(Optional.of(ReviewView.of(mockReview)));
+        when(reviewAuthorService.findByUserId(100L)).thenReturn(mockUser);
+
+        ReviewResponseDTO result = reviewService.getReviewById(1L);
+
+        assertThat(result.getId()).isEqualTo(1L);
+        assertThat(result.getNombre()).isEqualTo("John Doe");
+        verify(reviewRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("getReviewsByEntityCursor - Returns next cursor from the last row")
+    void getReviewsByEntityCursor_FirstPage() {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 1, 10, 12, 0);
+        Review second = Review.builder().id(2L).entityType("SERVICE").entityId(1L).userId(100L).rating(4)
+                .createdAt(createdAt).build();
+        Review third = Review.builder().id(3L).entityType("SERVICE").entityId(1L).userId(100L).rating(3)
+                .createdAt(createdAt.minusDays(1)).build();
+        when(reviewRepository.findFirstByEntityOrderByCreatedAtDesc(eq("SERVICE"), eq(1L), any(Pageable.class)))
+                .thenReturn(List.of(ReviewView.of(mockReview), ReviewView.of(second), ReviewView.of(third)));
+        when(reviewAuthorService.findByUserIds(anyCollection())).thenReturn(Map.of(100L, mockUser));
+
+        CursorPageDTO<ReviewResponseDTO> result = reviewService.getReviewsByEntityCursor(1L, "SERVICE", "", 2);
+
+        assertThat(result.getContent()).extracting(ReviewResponseDTO::getId).containsExactly(1L, 2L);
+        assertThat(result.isHasNext()).isTrue();
+        ReviewCursor next = ReviewCursor.decode(result.getNextCursor());
+        assertThat(next.getCreatedAt()).isEqualTo(createdAt);
+        assertThat(next.getId()).isEqualTo(2L);
+        verify(reviewRepository, never()).countByEntityTypeAndEntityId(anyString(), anyLong());
+    }
+
+    @Test
+    @DisplayName("getReviewsByEntityCursor - Seeks after the cursor position")
+    void getReviewsByEntityCursor_NextPage() {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 1, 10, 12, 0);
+        String cursor = new ReviewCursor(createdAt, 2L).encode();
+        when(reviewRepository.findByEntityBeforeCursor(eq("SERVICE"), eq(1L), eq(createdAt), eq(2L), any(Pageable.class)))
+                .thenReturn(List.of(ReviewView.of(mockReview)));
+        when(reviewAuthorService.findByUserIds(anyCollection())).thenReturn(Map.of());
+
+        CursorPageDTO<ReviewResponseDTO> result = reviewService.getReviewsByEntityCursor(1L, "SERVICE", cursor, 2);
+
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.isHasNext()).isFalse();
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("getReviewsByEntityCursor - Malformed cursor throws exception")
+    void getReviewsByEntityCursor_InvalidCursor() {
+        assertThatThrownBy(() -> reviewService.getReviewsByEntityCursor(1L, "SERVICE", "not-a-cursor", 10))
+                .isInstanceOf(InvalidCursorException.class);
+    }
 }
@@ -0,0 +1,73 @@
+package com.iwellness.reviews.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.iwellness.reviews.client.DownstreamGuard;
+import com.iwellness.reviews.client.ServicioApiClient;
+import com.iwellness.reviews.client.UserApiClient;
+import com.iwellness.reviews.dto.ServicioDTO;
+import com.iwellness.reviews.model.EntityType;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class ReviewableServiceTest {
+
+    @Mock
+    private ServicioApiClient servicioApiClient;
+    @Mock
+    private UserApiClient userApiClient;
+
+    private ReviewableService reviewableService;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        reviewableService = new ReviewableService(servicioApiClient, userApiClient,
+                new DownstreamGuard("servicio", CircuitBreaker.ofDefaults("servicio"), meterRegistry, null, 50, 1000),
+                new DownstreamGuard("users", CircuitBreaker.ofDefaults("users"), meterRegistry, null, 50, 1000),
+                meterRegistry, 100, 60000);
+    }
+
+    @Test
+    @DisplayName("isReviewable - Known entities skip the remote call")
+    void isReviewable_CachesPositiveAnswers() {
+        when(servicioApiClient.getServicioById(1L)).thenReturn(new ServicioDTO());
+
+        assertThat(reviewableService.isReviewable(EntityType.SERVICE, 1L)).isTrue();
+        assertThat(reviewableService.isReviewable(EntityType.SERVICE, 1L)).isTrue();
+
+        verify(servicioApiClient, times(1)).getServicioById(1L);
+    }
+
+    @Test
+    @DisplayName("isReviewable - Missing entities are checked again every time")
+    void isReviewable_DoesNotCacheMissingEntities() {
+        when(userApiClient.findById(2L)).thenReturn(null);
+
+        assertThat(reviewableService.isReviewable(EntityType.PROVIDER, 2L)).isFalse();
+        assertThat(reviewableService.isReviewable(EntityType.PROVIDER, 2L)).isFalse();
+
+        verify(userApiClient, times(2)).findById(2L);
+    }
+
+    @Test
+    @DisplayName("evict - Next check goes back to the owning service")
+    void evict_ForcesRemoteCheck() {
+        when(servicioApiClient.getServicioById(3L)).thenReturn(new ServicioDTO(), (ServicioDTO) null);
+
+        assertThat(reviewableService.isReviewable(EntityType.SERVICE, 3L)).isTrue();
+        reviewableService.evict(EntityType.SERVICE, 3L);
+
+        assertThat(reviewableService.isReviewable(EntityType.SERVICE, 3L)).isFalse();
+    }
+}
@@ -0,0 +1,153 @@
+package com.iwellness.reviews.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.iwellness.reviews.client.DownstreamBulkhead;
+import com.iwellness.reviews.client.DownstreamGuard;
+import com.iwellness.reviews.client.UserApiClient;
+import com.iwellness.reviews.dto.UsuarioDTO;
+
+import feign.FeignException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class UserProfileServiceTest {
+
+    @Mock
+    private UserApiClient userApiClient;
+
+    private SimpleMeterRegistry meterRegistry;
+    private DownstreamBulkhead usersBulkhead;
+    private CircuitBreaker circuitBreaker;
+    private UserProfileService userProfileService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        usersBulkhead = new DownstreamBulkhead("users", 4, 16, false, meterRegistry);
+        circuitBreaker = CircuitBreaker.ofDefaults("users");
+        DownstreamGuard usersGuard = new DownstreamGuard("users", circuitBreaker, meterRegistry, null, 50, 1000);
+        userProfileService = new UserProfileService(userApiClient, usersBulkhead, usersGuard, meterRegistry,
+                600000, 500, 100, 60000, 60000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        usersBulkhead.shutdown();
+    }
+
+    @Test
+    @DisplayName("findByIds - Uses the bulk endpoint once for distinct IDs")
+    void findByIds_UsesBulkEndpoint() {
+        when(userApiClient.findByIds(anyList())).thenReturn(List.of(user(1L, "Ana"), user(2L, "Luis")));
+
+        Map<Long, UsuarioDTO> result = userProfileService.findByIds(List.of(1L, 2L, 1L));
+
+        assertThat(result).containsOnlyKeys(1L, 2L);
+        verify(userApiClient).findByIds(List.of(1L, 2L));
+        verify(userApiClient, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("findByIds - Falls back to single lookups when bulk endpoint is missing")
+    void findByIds_FallsBackToSingleLookups() {
+        when(userApiClient.findByIds(anyList())).thenThrow(mock(FeignException.NotFound.class));
+        when(userApiClient.findById(1L)).thenReturn(user(1L, "Ana"));
+        when(userApiClient.findById(2L)).thenThrow(mock(FeignException.InternalServerError.class));
+
+        Map<Long, UsuarioDTO> first = userProfileService.findByIds(List.of(1L, 2L));
+        Map<Long, UsuarioDTO> second = userProfileService.findByIds(List.of(1L));
+
+        assertThat(first).containsOnlyKeys(1L);
+        assertThat(second).containsOnlyKeys(1L);
+        verify(userApiClient, times(1)).findByIds(anyList());
+    }
+
+    @Test
+    @DisplayName("findByIds - Users that miss the deadline degrade and are cached once they answer")
+    void findByIds_DeadlineDegradesSlowLookups() {
+        when(userApiClient.findByIds(anyList())).thenThrow(mock(FeignException.NotFound.class));
+        when(userApiClient.findById(1L)).thenReturn(user(1L, "Ana"));
+        when(userApiClient.findById(2L)).thenAnswer(inv -> {
+            Thread.sleep(1000);
+            return user(2L, "Luis");
+        });
+
+        Map<Long, UsuarioDTO> result = userProfileService.findByIds(List.of(1L, 2L));
+
+        assertThat(result).containsOnlyKeys(1L);
+        await().atMost(Duration.ofSeconds(5)).until(() -> meterRegistry.get("executor.active")
+                .tag("name", "downstream.users").gauge().value() == 0);
+        assertThat(userProfileService.findByIds(List.of(2L))).containsOnlyKeys(2L);
+        verify(userApiClient, times(1)).findById(2L);
+    }
+
+    @Test
+    @DisplayName("findById - Serves repeated lookups from the local cache")
+    void findById_CachesProfiles() {
+        when(userApiClient.findById(1L)).thenReturn(user(1L, "Ana"));
+
+        UsuarioDTO fetched = userProfileService.findById(1L);
+        UsuarioDTO cached = userProfileService.findById(1L);
+        Map<Long, UsuarioDTO> batch = userProfileService.findByIds(List.of(1L));
+
+        assertThat(cached.getNombre()).isEqualTo("Ana");
+        // El perfil cacheado conserva la hora en que se leyó
+        assertThat(fetched.getFetchedAt()).isNotNull();
+        assertThat(cached.getFetchedAt()).isEqualTo(fetched.getFetchedAt());
+        assertThat(batch).containsOnlyKeys(1L);
+        verify(userApiClient, times(1)).findById(1L);
+        verify(userApiClient, never()).findByIds(anyList());
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "userProfiles").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("findById - Remembers failed lookups")
+    void findById_CachesFailures() {
+        when(userApiClient.findById(1L)).thenThrow(mock(FeignException.NotFound.class));
+
+        assertThat(userProfileService.findById(1L)).isNull();
+        assertThat(userProfileService.findById(1L)).isNull();
+
+        verify(userApiClient, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("findById - Fails fast without caching while the circuit is open")
+    void findById_OpenCircuitIsNotCached() {
+        circuitBreaker.transitionToOpenState();
+
+        assertThat(userProfileService.findById(1L)).isNull();
+        assertThat(userProfileService.findByIds(List.of(1L, 2L))).isEmpty();
+        verifyNoInteractions(userApiClient);
+
+        circuitBreaker.transitionToClosedState();
+        when(userApiClient.findById(1L)).thenReturn(user(1L, "Ana"));
+        assertThat(userProfileService.findById(1L).getNombre()).isEqualTo("Ana");
+    }
+
+    private UsuarioDTO user(Long id, String nombre) {
+        UsuarioDTO user = new UsuarioDTO();
+        user.setId(id);
+        user.setNombre(nombre);
+        user.setApellido("Test");
+        return user;
+    }
+}